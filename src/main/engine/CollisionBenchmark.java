@@ -0,0 +1,317 @@
+package engine;
+
+import java.util.Random;
+import java.util.logging.Level;
+
+import engine.DrawManager.SpriteType;
+import entity.BulletStore;
+import entity.EnemyShip;
+import entity.EnemyShipFormation;
+
+/**
+ * Times the collision queries against the loops they replaced, without a
+ * window or sound. Every case is run a few times so the JIT settles, and
+ * the last run is reported. The same seed is used on every run, so two
+ * builds are compared on the same inputs.
+ *
+ * Usage: CollisionBenchmark [case] [millis], case being formation, masks,
+ * bullets or all.
+ */
+public final class CollisionBenchmark {
+
+	/** Default time spent on each measurement. */
+	private static final int DEFAULT_MILLIS = 300;
+	/** Runs of each measurement, the last one is reported. */
+	private static final int RUNS = 3;
+	/** Queries in a batch, unless the case says otherwise. */
+	private static final int SAMPLES = 4096;
+	/** Seed of the random query positions. */
+	private static final long SEED = 1;
+	/** Formation sizes timed, in ships wide and high. */
+	private static final int[][] FORMATIONS = { { 14, 10 }, { 64, 64 },
+			{ 256, 64 } };
+	/** Bullet counts timed against a single target. */
+	private static final int[] BULLET_COUNTS = { 100, 1000, 10000 };
+	/** Bullet tests made between two reads of the clock. */
+	private static final int BULLET_TESTS = 1000000;
+	/** Sprites a bullet is tested against for the mask cost. */
+	private static final SpriteType[] MASK_TARGETS = { SpriteType.Barrier,
+			SpriteType.EnemyShipA1, SpriteType.EnemyShipSpecial };
+
+	/** Batch of queries being timed. */
+	private interface Batch {
+		/**
+		 * Runs the queries of the batch.
+		 *
+		 * @return Value depending on the results, so they are not optimized
+		 *         away.
+		 */
+		long run();
+	}
+
+	/** Sum of the batch results, printed so the JIT has to keep them. */
+	private static long sink;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private CollisionBenchmark() {
+
+	}
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args
+	 *            Optional case and time per measurement in milliseconds.
+	 */
+	public static void main(final String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		String name = args.length > 0 ? args[0] : "all";
+		long nanos = (args.length > 1 ? Long.parseLong(args[1])
+				: DEFAULT_MILLIS) * 1000000L;
+
+		Core.getLogger().setLevel(Level.WARNING);
+		SoundManager.getInstance().disable();
+		GameClock.startSimulation();
+
+		boolean all = name.equals("all");
+		if (all || name.equals("formation"))
+			benchmarkFormation(nanos);
+		if (all || name.equals("masks"))
+			benchmarkMasks(nanos);
+		if (all || name.equals("bullets"))
+			benchmarkBullets(nanos);
+		System.out.println("(" + sink + ")");
+		System.exit(0);
+	}
+
+	/**
+	 * Times the formation ships found under a bullet with the analytical
+	 * query, against scanning every live ship.
+	 *
+	 * @param nanos
+	 *            Time spent on each measurement.
+	 */
+	private static void benchmarkFormation(final long nanos) {
+		Random random = new Random(SEED);
+		GameState gameState = new GameState(1, 0, Core.BASE_SHIP, 3, 0, 0, 0,
+				"", 0, 0, 0, 0, 0);
+		for (int[] size : FORMATIONS) {
+			EnemyShipFormation formation = new EnemyShipFormation(
+					new GameSettings(size[0], size[1], 1, 2500), gameState);
+			int left = Integer.MAX_VALUE;
+			int top = Integer.MAX_VALUE;
+			int right = Integer.MIN_VALUE;
+			int bottom = Integer.MIN_VALUE;
+			for (int c = formation.firstLive(); c >= 0; c = formation.nextLive(c)) {
+				EnemyShip ship = formation.shipAt(c);
+				left = Math.min(left, ship.getPositionX());
+				top = Math.min(top, ship.getPositionY());
+				right = Math.max(right, ship.getPositionX() + ship.getWidth());
+				bottom = Math.max(bottom, ship.getPositionY() + ship.getHeight());
+			}
+
+			// Bullets anywhere over the formation, hitting a ship or not.
+			int[] xs = new int[SAMPLES];
+			int[] ys = new int[SAMPLES];
+			for (int i = 0; i < SAMPLES; i++) {
+				xs[i] = left - BulletStore.WIDTH
+						+ random.nextInt(right - left + BulletStore.WIDTH);
+				ys[i] = top - BulletStore.HEIGHT
+						+ random.nextInt(bottom - top + BulletStore.HEIGHT);
+			}
+
+			Batch grid = () -> {
+				long found = 0;
+				for (int i = 0; i < SAMPLES; i++)
+					for (int c = formation.firstOverlapping(xs[i], ys[i],
+							BulletStore.WIDTH, BulletStore.HEIGHT); c >= 0;
+							c = formation.nextOverlapping(c, xs[i], ys[i],
+									BulletStore.WIDTH, BulletStore.HEIGHT))
+						found += c;
+				return found;
+			};
+			Batch scan = () -> {
+				long found = 0;
+				for (int i = 0; i < SAMPLES; i++)
+					for (int c = formation.firstLive(); c >= 0;
+							c = formation.nextLive(c)) {
+						EnemyShip ship = formation.shipAt(c);
+						if (ship.getPositionX() < xs[i] + BulletStore.WIDTH
+								&& xs[i] < ship.getPositionX() + ship.getWidth()
+								&& ship.getPositionY() < ys[i] + BulletStore.HEIGHT
+								&& ys[i] < ship.getPositionY() + ship.getHeight())
+							found += c;
+					}
+				return found;
+			};
+			check("formation", grid, scan);
+			System.out.printf("formation %dx%d: grid %.1f ns/query, "
+					+ "scan %.1f ns/query%n", size[0], size[1],
+					time(nanos, SAMPLES, grid), time(nanos, SAMPLES, scan));
+		}
+	}
+
+	/**
+	 * Times the bounding box test followed by the sprite mask test, against
+	 * the bounding box test alone, for bullets whose box touches a target.
+	 *
+	 * @param nanos
+	 *            Time spent on each measurement.
+	 */
+	private static void benchmarkMasks(final long nanos) {
+		Random random = new Random(SEED);
+		DrawManager drawManager = Core.getDrawManager();
+		SpriteMask bulletMask = drawManager.getSpriteMask(SpriteType.Bullet);
+		for (SpriteType target : MASK_TARGETS) {
+			SpriteMask mask = drawManager.getSpriteMask(target);
+			int width = mask.getWidth();
+			int height = mask.getHeight();
+
+			// Bullets whose box overlaps the target, on solid pixels or not.
+			int[] xs = new int[SAMPLES];
+			int[] ys = new int[SAMPLES];
+			for (int i = 0; i < SAMPLES; i++) {
+				xs[i] = random.nextInt(width + BulletStore.WIDTH - 1)
+						- BulletStore.WIDTH + 1;
+				ys[i] = random.nextInt(height + BulletStore.HEIGHT - 1)
+						- BulletStore.HEIGHT + 1;
+			}
+
+			Batch box = () -> {
+				long hits = 0;
+				for (int i = 0; i < SAMPLES; i++)
+					if (boxesOverlap(xs[i], ys[i], width, height))
+						hits++;
+				return hits;
+			};
+			Batch pixels = () -> {
+				long hits = 0;
+				for (int i = 0; i < SAMPLES; i++)
+					if (boxesOverlap(xs[i], ys[i], width, height)
+							&& bulletMask.overlaps(xs[i], ys[i], mask, 0, 0))
+						hits++;
+				return hits;
+			};
+			System.out.printf("mask %s %dx%d: box and mask %.1f ns/pair, "
+					+ "box %.1f ns/pair, %d of %d box hits confirmed%n",
+					target, width, height, time(nanos, SAMPLES, pixels),
+					time(nanos, SAMPLES, box), pixels.run(), box.run());
+		}
+	}
+
+	/**
+	 * Times the batched box test of the bullet store against testing the
+	 * bullets one at a time, for a target the size of the player ship.
+	 *
+	 * @param nanos
+	 *            Time spent on each measurement.
+	 */
+	private static void benchmarkBullets(final long nanos) {
+		Random random = new Random(SEED);
+		int x = Core.WIDTH / 2;
+		int y = Core.HEIGHT - 70;
+		SpriteMask ship = Core.getDrawManager().getSpriteMask(SpriteType.Ship);
+		int width = ship.getWidth();
+		int height = ship.getHeight();
+		for (int count : BULLET_COUNTS) {
+			BulletStore bullets = new BulletStore(count, 0);
+			for (int i = 0; i < count; i++)
+				bullets.add(random.nextInt(Core.WIDTH),
+						random.nextInt(Core.HEIGHT), -1, BulletStore.PLAYER);
+			boolean[] hits = new boolean[count];
+			int calls = Math.max(1, BULLET_TESTS / count);
+
+			Batch batch = () -> {
+				long found = 0;
+				for (int call = 0; call < calls; call++)
+					found += bullets.overlapping(x, y, width, height, hits);
+				return found;
+			};
+			Batch perPair = () -> {
+				long found = 0;
+				for (int call = 0; call < calls; call++)
+					for (int i = 0; i < bullets.size(); i++)
+						if (bullets.getPositionX(i) < x + width
+								&& x < bullets.getPositionX(i) + BulletStore.WIDTH
+								&& bullets.getPositionY(i) < y + height
+								&& y < bullets.getPositionY(i) + BulletStore.HEIGHT)
+							found++;
+				return found;
+			};
+			check("bullets", batch, perPair);
+			System.out.printf("bullets %d: batch %.2f us/target, "
+					+ "per pair %.2f us/target%n", count,
+					time(nanos, calls, batch) / 1000,
+					time(nanos, calls, perPair) / 1000);
+		}
+	}
+
+	/**
+	 * Bounding box test of GameScreen, a bullet against an entity at the
+	 * origin.
+	 *
+	 * @param x
+	 *            Left side of the bullet.
+	 * @param y
+	 *            Upper side of the bullet.
+	 * @param width
+	 *            Width of the entity.
+	 * @param height
+	 *            Height of the entity.
+	 * @return True if the bullet is close enough to the entity center.
+	 */
+	private static boolean boxesOverlap(final int x, final int y,
+			final int width, final int height) {
+		int distanceX = Math.abs(x + BulletStore.WIDTH / 2 - width / 2);
+		int distanceY = Math.abs(y + BulletStore.HEIGHT / 2 - height / 2);
+		return distanceX < BulletStore.WIDTH / 2 + width / 2
+				&& distanceY < BulletStore.HEIGHT / 2 + height / 2;
+	}
+
+	/**
+	 * Checks that a query finds the same results as the loop it replaced.
+	 *
+	 * @param name
+	 *            Name of the case.
+	 * @param batch
+	 *            Queries timed.
+	 * @param reference
+	 *            Loop they replaced.
+	 */
+	private static void check(final String name, final Batch batch,
+			final Batch reference) {
+		if (batch.run() != reference.run())
+			throw new IllegalStateException(name
+					+ " results differ from the reference loop.");
+	}
+
+	/**
+	 * Times a batch of queries.
+	 *
+	 * @param nanos
+	 *            Time spent on each run.
+	 * @param queries
+	 *            Queries in the batch.
+	 * @param batch
+	 *            Queries to time.
+	 * @return Nanoseconds per query in the last run.
+	 */
+	private static double time(final long nanos, final int queries,
+			final Batch batch) {
+		double perQuery = 0;
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			long elapsed;
+			long batches = 0;
+			do {
+				sink += batch.run();
+				batches++;
+				elapsed = System.nanoTime() - start;
+			} while (elapsed < nanos);
+			perQuery = elapsed / (double) (batches * queries);
+		}
+		return perQuery;
+	}
+}
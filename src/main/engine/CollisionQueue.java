@@ -0,0 +1,126 @@
+package engine;
+
+import entity.Entity;
+
+/**
+ * Ring of collision events, filled by the detection pass of a tick and
+ * drained by its response pass. An event is a kind chosen by the caller,
+ * the index of the bullet involved and the entity it hit, stored in
+ * parallel arrays that are allocated once and only grow if a tick ever
+ * produces more events than they hold.
+ */
+public final class CollisionQueue {
+
+	/** Kind of each event. */
+	private int[] kinds;
+	/** Bullet of each event. */
+	private int[] bullets;
+	/** Entity of each event, null if none. */
+	private Entity[] targets;
+	/** Slot of the oldest event. */
+	private int head;
+	/** Number of events queued. */
+	private int size;
+	/** Kind of the event taken last. */
+	private int takenKind;
+	/** Bullet of the event taken last. */
+	private int takenBullet;
+
+	/**
+	 * Constructor, allocates the ring.
+	 *
+	 * @param capacity
+	 *            Events held before the ring has to grow.
+	 */
+	public CollisionQueue(final int capacity) {
+		int slots = Math.max(1, capacity);
+		this.kinds = new int[slots];
+		this.bullets = new int[slots];
+		this.targets = new Entity[slots];
+	}
+
+	/**
+	 * Queues an event.
+	 *
+	 * @param kind
+	 *            Kind of the event.
+	 * @param bullet
+	 *            Index of the bullet involved.
+	 * @param target
+	 *            Entity hit, null if none.
+	 */
+	public void add(final int kind, final int bullet, final Entity target) {
+		if (this.size == this.kinds.length)
+			grow();
+		int slot = (this.head + this.size) % this.kinds.length;
+		this.kinds[slot] = kind;
+		this.bullets[slot] = bullet;
+		this.targets[slot] = target;
+		this.size++;
+	}
+
+	/**
+	 * Removes the oldest event, its kind and bullet are then read with
+	 * {@link #getKind()} and {@link #getBullet()}. The entity is returned
+	 * rather than kept, so the ring holds no entity once drained.
+	 *
+	 * @return Entity hit, null if none.
+	 */
+	public Entity take() {
+		int slot = this.head;
+		Entity target = this.targets[slot];
+		this.targets[slot] = null;
+		this.takenKind = this.kinds[slot];
+		this.takenBullet = this.bullets[slot];
+		this.head = (this.head + 1) % this.kinds.length;
+		this.size--;
+		return target;
+	}
+
+	/**
+	 * Checks if no event is queued.
+	 *
+	 * @return True if the ring is empty.
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Getter for the kind of the event taken last.
+	 *
+	 * @return Kind of the event.
+	 */
+	public int getKind() {
+		return this.takenKind;
+	}
+
+	/**
+	 * Getter for the bullet of the event taken last.
+	 *
+	 * @return Index of the bullet.
+	 */
+	public int getBullet() {
+		return this.takenBullet;
+	}
+
+	/**
+	 * Doubles the ring, moving the events to the start of it.
+	 */
+	private void grow() {
+		int capacity = this.kinds.length;
+		int[] kinds = new int[capacity * 2];
+		int[] bullets = new int[capacity * 2];
+		Entity[] targets = new Entity[capacity * 2];
+		for (int i = 0; i < this.size; i++) {
+			int slot = (this.head + i) % capacity;
+			kinds[i] = this.kinds[slot];
+			bullets[i] = this.bullets[slot];
+			targets[i] = this.targets[slot];
+		}
+		this.kinds = kinds;
+		this.bullets = bullets;
+		this.targets = targets;
+		this.head = 0;
+	}
+}
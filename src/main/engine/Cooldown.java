@@ -56,7 +56,7 @@ public class Cooldown {
 
 	public final boolean checkFinished() {
 		if ((this.time == 0)
-				|| this.time + this.duration < System.currentTimeMillis())
+				|| this.time + this.duration < GameClock.currentTimeMillis())
 			return true;
 		return false;
 	}
@@ -69,7 +69,7 @@ public class Cooldown {
 
 	public final boolean checkAlert() {
 		if ((this.time > 0)
-				&& this.time + this.duration - this.alert <= System.currentTimeMillis())
+				&& this.time + this.duration - this.alert <= GameClock.currentTimeMillis())
 			return true;
 		return false;
 	}
@@ -81,13 +81,13 @@ public class Cooldown {
 	 */
 	public final int checkAlertAnimation() {
 		if ((this.time > 0)
-				&& this.time + this.duration - (this.alert / 3) <= System.currentTimeMillis())
+				&& this.time + this.duration - (this.alert / 3) <= GameClock.currentTimeMillis())
 			return 3;
 		else if ((this.time > 0)
-				&& this.time + this.duration - 2 * (this.alert / 3) <= System.currentTimeMillis())
+				&& this.time + this.duration - 2 * (this.alert / 3) <= GameClock.currentTimeMillis())
 			return 2;
 		else if ((this.time > 0)
-				&& this.time + this.duration - this.alert <= System.currentTimeMillis())
+				&& this.time + this.duration - this.alert <= GameClock.currentTimeMillis())
 			return 1;
 		return 0;
 	}
@@ -96,7 +96,7 @@ public class Cooldown {
 	 * Restarts the cooldown.
 	 */
 	public final void reset() {
-		this.time = System.currentTimeMillis();
+		this.time = GameClock.currentTimeMillis();
 		if (this.variance != 0)
 			this.duration = (this.milliseconds - this.variance)
 					+ (int) (Math.random()
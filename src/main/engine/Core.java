@@ -20,11 +20,11 @@ import screen.*;
 public final class Core {
 
 	/** Width of current screen. */
-	private static final int WIDTH = 600;
+	static final int WIDTH = 600;
 	/** Height of current screen. */
-	private static final int HEIGHT = 650;
+	static final int HEIGHT = 650;
 	/** Max fps of current screen. */
-	private static final int FPS = 60;
+	static final int FPS = 60;
 
 	/** Base ship type. */
 	public static Ship.ShipType BASE_SHIP = Ship.ShipType.StarDefender;
@@ -76,6 +76,14 @@ public final class Core {
 			e.printStackTrace();
 		}
 
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				FrameProfiler.dump();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}));
+
 		frame = new Frame(WIDTH, HEIGHT);
 		DrawManager.getInstance().setFrame(frame);
 		int width = frame.getWidth();
@@ -0,0 +1,212 @@
+package engine;
+
+/**
+ * Set of rectangles of a buffer that must be repainted. Rectangles are
+ * clipped to the buffer and merged with a neighbour when that does not grow
+ * the covered area much, so the set stays small. Storage is preallocated;
+ * once it is full the whole buffer counts as dirty.
+ */
+public final class DirtyRegion {
+
+	/** Most rectangles kept before the region covers the whole buffer. */
+	private static final int CAPACITY = 128;
+	/** Extra area allowed when merging two rectangles, in pixels. */
+	private static final int MERGE_SLACK = 256;
+
+	/** Left side of each rectangle. */
+	private final int[] left = new int[CAPACITY];
+	/** Upper side of each rectangle. */
+	private final int[] top = new int[CAPACITY];
+	/** Right side of each rectangle, exclusive. */
+	private final int[] right = new int[CAPACITY];
+	/** Lower side of each rectangle, exclusive. */
+	private final int[] bottom = new int[CAPACITY];
+	/** Number of rectangles. */
+	private int size;
+	/** If the whole buffer is dirty. */
+	private boolean full;
+	/** Buffer width. */
+	private int width;
+	/** Buffer height. */
+	private int height;
+
+	/**
+	 * Empties the region.
+	 *
+	 * @param bufferWidth
+	 *            Width of the buffer the region belongs to.
+	 * @param bufferHeight
+	 *            Height of the buffer the region belongs to.
+	 */
+	public void clear(final int bufferWidth, final int bufferHeight) {
+		this.width = bufferWidth;
+		this.height = bufferHeight;
+		this.size = 0;
+		this.full = false;
+	}
+
+	/**
+	 * Marks the whole buffer as dirty.
+	 */
+	public void markFull() {
+		this.full = true;
+	}
+
+	/**
+	 * Adds a rectangle to the region.
+	 *
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @param w
+	 *            Width.
+	 * @param h
+	 *            Height.
+	 */
+	public void add(final int x, final int y, final int w, final int h) {
+		if (this.full)
+			return;
+		int x0 = Math.max(0, x);
+		int y0 = Math.max(0, y);
+		int x1 = Math.min(this.width, x + w);
+		int y1 = Math.min(this.height, y + h);
+		if (x0 >= x1 || y0 >= y1)
+			return;
+
+		long area = (long) (x1 - x0) * (y1 - y0);
+		for (int i = 0; i < this.size; i++) {
+			int ux0 = Math.min(x0, this.left[i]);
+			int uy0 = Math.min(y0, this.top[i]);
+			int ux1 = Math.max(x1, this.right[i]);
+			int uy1 = Math.max(y1, this.bottom[i]);
+			long union = (long) (ux1 - ux0) * (uy1 - uy0);
+			if (union <= area + areaOf(i) + MERGE_SLACK) {
+				this.left[i] = ux0;
+				this.top[i] = uy0;
+				this.right[i] = ux1;
+				this.bottom[i] = uy1;
+				return;
+			}
+		}
+
+		if (this.size == CAPACITY) {
+			this.full = true;
+			return;
+		}
+		this.left[this.size] = x0;
+		this.top[this.size] = y0;
+		this.right[this.size] = x1;
+		this.bottom[this.size] = y1;
+		this.size++;
+	}
+
+	/**
+	 * Checks if the whole buffer is dirty.
+	 *
+	 * @return True if the buffer must be repainted entirely.
+	 */
+	public boolean isFull() {
+		return this.full;
+	}
+
+	/**
+	 * Sum of the rectangle areas, overlaps counted twice.
+	 *
+	 * @return Covered area in pixels, or the buffer area when full.
+	 */
+	public long getArea() {
+		if (this.full)
+			return (long) this.width * this.height;
+		long area = 0;
+		for (int i = 0; i < this.size; i++)
+			area += areaOf(i);
+		return area;
+	}
+
+	/**
+	 * Getter for the number of rectangles.
+	 *
+	 * @return Number of rectangles.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the left side of a rectangle.
+	 *
+	 * @param i
+	 *            Rectangle index.
+	 * @return Left side.
+	 */
+	public int getX(final int i) {
+		return this.left[i];
+	}
+
+	/**
+	 * Getter for the upper side of a rectangle.
+	 *
+	 * @param i
+	 *            Rectangle index.
+	 * @return Upper side.
+	 */
+	public int getY(final int i) {
+		return this.top[i];
+	}
+
+	/**
+	 * Getter for the width of a rectangle.
+	 *
+	 * @param i
+	 *            Rectangle index.
+	 * @return Width.
+	 */
+	public int getWidth(final int i) {
+		return this.right[i] - this.left[i];
+	}
+
+	/**
+	 * Getter for the height of a rectangle.
+	 *
+	 * @param i
+	 *            Rectangle index.
+	 * @return Height.
+	 */
+	public int getHeight(final int i) {
+		return this.bottom[i] - this.top[i];
+	}
+
+	/**
+	 * Checks if an area touches a rectangle.
+	 *
+	 * @param i
+	 *            Rectangle index.
+	 * @param x
+	 *            Left side of the area.
+	 * @param y
+	 *            Upper side of the area.
+	 * @param w
+	 *            Width of the area.
+	 * @param h
+	 *            Height of the area.
+	 * @return True if they overlap.
+	 */
+	public boolean intersects(final int i, final int x, final int y,
+			final int w, final int h) {
+		return x < this.right[i] && x + w > this.left[i]
+				&& y < this.bottom[i] && y + h > this.top[i];
+	}
+
+	/**
+	 * Area of a rectangle.
+	 *
+	 * @param i
+	 *            Rectangle index.
+	 * @return Area in pixels.
+	 */
+	private long areaOf(final int i) {
+		return (long) (this.right[i] - this.left[i])
+				* (this.bottom[i] - this.top[i]);
+	}
+}
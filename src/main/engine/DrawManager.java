@@ -33,8 +33,6 @@ public final class DrawManager {
 	private static FileManager fileManager;
 	/** Application logger. */
 	private static Logger logger;
-	/** Graphics context. */
-	private static Graphics graphics;
 	/** Buffer Graphics. */
 	private static Graphics backBufferGraphics;
 	/** Buffer Graphics for multi screens. */
@@ -42,7 +40,10 @@ public final class DrawManager {
 	/** Buffer image. */
 	private static BufferedImage backBuffer;
 	/** Buffer images for multi screens **/
-	private static final BufferedImage[] threadBuffers = new BufferedImage[4];
+	private static final BufferedImage[] threadBuffers = new BufferedImage[2];
+	/** Frames handed from each player thread to the compositor. */
+	private static final TripleBuffer[] frameHandoffs = { new TripleBuffer(),
+			new TripleBuffer() };
 	/** Small sized font. */
 	private static Font fontSmall;
 	/** Small sized font properties. */
@@ -55,11 +56,51 @@ public final class DrawManager {
 	private static Font fontBig;
 	/** Big sized font properties. */
 	private static FontMetrics fontBigMetrics;
+	/** Glyph atlas of the small font. */
+	private static GlyphAtlas fontSmallAtlas;
+	/** Glyph atlas of the normal-sized font. */
+	private static GlyphAtlas fontRegularAtlas;
+	/** Glyph atlas of the big font. */
+	private static GlyphAtlas fontBigAtlas;
 	/** Vertical line width for two player mode **/
 	private static final int LINE_WIDTH = 1;
 
 	/** Sprite types mapped to their images. */
 	private static Map<SpriteType, boolean[][]> spriteMap;
+	/** Backend drawing the sprites. */
+	private static SpriteRenderer spriteRenderer;
+	/** Width on screen of each sprite, indexed by ordinal. */
+	private static int[] spriteWidths;
+	/** Height on screen of each sprite, indexed by ordinal. */
+	private static int[] spriteHeights;
+	/** Solid pixels on screen of each sprite, indexed by ordinal. */
+	private static SpriteMask[] spriteMasks;
+
+	/** Interface layers, one per player thread and one for a single player. */
+	private static final HudLayer[] hudLayers = new HudLayer[3];
+	/** Index of the single player interface layer. */
+	private static final int SINGLE_PLAYER_HUD = 2;
+
+	/** Share of the screen above which a retained frame is fully redrawn. */
+	private static final double FULL_REDRAW_RATIO = 0.5;
+	/** Background of retained frames, black with the game title. */
+	private static BufferedImage background;
+	/** Sprites recorded for the current retained frame. */
+	private static SpriteDrawList currentSprites = new SpriteDrawList();
+	/** Sprites of the previous retained frame. */
+	private static SpriteDrawList previousSprites = new SpriteDrawList();
+	/** Areas to repaint in the current retained frame. */
+	private static final DirtyRegion dirtyRegion = new DirtyRegion();
+	/** Areas marked explicitly this frame, repainted again next frame. */
+	private static final DirtyRegion markedRegion = new DirtyRegion();
+	/** Areas marked explicitly in the previous frame. */
+	private static final DirtyRegion previousMarkedRegion = new DirtyRegion();
+	/** If sprite draws are being recorded instead of drawn. */
+	private static boolean recordingSprites;
+	/** If the back buffer still holds the previous retained frame. */
+	private static boolean retainedValid;
+	/** If the previous retained frame was forced to be fully redrawn. */
+	private static boolean previousForcedFull;
 
 	/** For Shopscreen image */
 	private static BufferedImage img_additionallife;
@@ -158,12 +199,33 @@ public final class DrawManager {
 			spriteMap.put(SpriteType.EnemyShipF1, new boolean[16][7]);
 
 			fileManager.loadSprite(spriteMap);
+			if ("raster".equals(System.getProperty(SpriteRenderer.PROPERTY)))
+				spriteRenderer = new RasterRenderer(spriteMap);
+			else
+				spriteRenderer = new SpriteCache(spriteMap);
+			logger.info("Drawing sprites with "
+					+ spriteRenderer.getClass().getSimpleName() + ".");
+
+			spriteWidths = new int[SpriteType.values().length];
+			spriteHeights = new int[SpriteType.values().length];
+			spriteMasks = new SpriteMask[SpriteType.values().length];
+			for (Map.Entry<SpriteType, boolean[][]> sprite : spriteMap.entrySet()) {
+				boolean[][] mask = sprite.getValue();
+				spriteMasks[sprite.getKey().ordinal()] = new SpriteMask(mask,
+						SpriteCache.SCALE);
+				spriteWidths[sprite.getKey().ordinal()] = mask.length * SpriteCache.SCALE;
+				spriteHeights[sprite.getKey().ordinal()] = mask.length == 0 ? 0
+						: mask[0].length * SpriteCache.SCALE;
+			}
 			logger.info("Finished loading the sprites.");
 
 			// Font loading.
 			fontSmall = fileManager.loadFont(10f);
 			fontRegular = fileManager.loadFont(14f);
 			fontBig = fileManager.loadFont(24f);
+			fontSmallAtlas = new GlyphAtlas(fontSmall);
+			fontRegularAtlas = new GlyphAtlas(fontRegular);
+			fontBigAtlas = new GlyphAtlas(fontBig);
 			logger.info("Finished loading the fonts.");
 
 		} catch (IOException e) {
@@ -196,6 +258,17 @@ public final class DrawManager {
 		return instance;
 	}
 
+	/**
+	 * Getter for the solid pixels of a sprite, used for exact collisions.
+	 *
+	 * @param spriteType
+	 *            Sprite type.
+	 * @return Mask of the sprite at screen scale, or null if not loaded.
+	 */
+	public SpriteMask getSpriteMask(final SpriteType spriteType) {
+		return spriteMasks == null ? null : spriteMasks[spriteType.ordinal()];
+	}
+
 	/**
 	 * Sets the frame to draw the image on.
 	 *
@@ -214,23 +287,166 @@ public final class DrawManager {
 	 *            Screen to draw in.
 	 */
 	public void initDrawing(final Screen screen) {
-		backBuffer = new BufferedImage(screen.getWidth(), screen.getHeight(),
-				BufferedImage.TYPE_INT_RGB);
-
-		graphics = frame.getGraphics();
-		backBufferGraphics = backBuffer.getGraphics();
+		retainedValid = false;
+		prepareBackBuffer(screen);
 
 		backBufferGraphics.setColor(Color.BLACK);
 		backBufferGraphics
 				.fillRect(0, 0, screen.getWidth(), screen.getHeight());
 
-		fontSmallMetrics = backBufferGraphics.getFontMetrics(fontSmall);
-		fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
-		fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
-
 		//drawBorders(screen);
 		//drawGrid(screen);
 	}
+
+	/**
+	 * First part of drawing a retained frame. The back buffer keeps the
+	 * previous frame, and sprite draws are recorded until
+	 * {@link #resolveRetainedDrawing(Screen, boolean)} repaints only what
+	 * changed. The background is black with the game title.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 */
+	public void initRetainedDrawing(final Screen screen) {
+		if (prepareBackBuffer(screen) || !fits(background, screen)) {
+			background = new BufferedImage(screen.getWidth(),
+					screen.getHeight(), BufferedImage.TYPE_INT_RGB);
+			Graphics graphics = background.getGraphics();
+			graphics.setColor(Color.BLACK);
+			graphics.fillRect(0, 0, screen.getWidth(), screen.getHeight());
+			graphics.setColor(Color.DARK_GRAY);
+			graphics.setFont(fontBig);
+			drawText(graphics, "Invaders", screen.getWidth() / 2
+					- fontBigAtlas.stringWidth("Invaders") / 2,
+					screen.getHeight() / 2);
+			graphics.dispose();
+			retainedValid = false;
+		}
+
+		SpriteDrawList swap = previousSprites;
+		previousSprites = currentSprites;
+		currentSprites = swap;
+		currentSprites.clear();
+		dirtyRegion.clear(screen.getWidth(), screen.getHeight());
+		markedRegion.clear(screen.getWidth(), screen.getHeight());
+		recordingSprites = true;
+	}
+
+	/**
+	 * Marks an area of a retained frame that is drawn directly, such as the
+	 * interface. It is repainted in this frame and the next one, which
+	 * erases whatever was drawn there. Must be called before
+	 * {@link #resolveRetainedDrawing(Screen, boolean)}.
+	 *
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @param width
+	 *            Width.
+	 * @param height
+	 *            Height.
+	 */
+	public void markDirty(final int x, final int y, final int width,
+			final int height) {
+		markedRegion.add(x, y, width, height);
+	}
+
+	/**
+	 * Second part of drawing a retained frame. Compares the recorded sprites
+	 * with the previous frame, restores the background of the changed areas
+	 * and redraws every sprite touching them. Everything is redrawn when the
+	 * changes cover too much of the screen, when asked for, and right after
+	 * a forced full redraw, whose extra drawings are not tracked.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @param fullRedraw
+	 *            If the whole frame must be redrawn.
+	 */
+	public void resolveRetainedDrawing(final Screen screen,
+			final boolean fullRedraw) {
+		recordingSprites = false;
+
+		currentSprites.diff(previousSprites, dirtyRegion);
+		addRegion(dirtyRegion, markedRegion);
+		addRegion(dirtyRegion, previousMarkedRegion);
+		previousMarkedRegion.clear(screen.getWidth(), screen.getHeight());
+		addRegion(previousMarkedRegion, markedRegion);
+
+		if (fullRedraw || previousForcedFull || !retainedValid
+				|| dirtyRegion.isFull() || dirtyRegion.getArea()
+						> FULL_REDRAW_RATIO * screen.getWidth() * screen.getHeight()) {
+			backBufferGraphics.drawImage(background, 0, 0, null);
+			for (int i = 0; i < currentSprites.size(); i++)
+				drawSprite(currentSprites.getSpriteType(i),
+						currentSprites.getColor(i), currentSprites.getX(i),
+						currentSprites.getY(i));
+		} else {
+			for (int r = 0; r < dirtyRegion.size(); r++) {
+				int x = dirtyRegion.getX(r);
+				int y = dirtyRegion.getY(r);
+				int width = dirtyRegion.getWidth(r);
+				int height = dirtyRegion.getHeight(r);
+
+				backBufferGraphics.setClip(x, y, width, height);
+				backBufferGraphics.drawImage(background, x, y, x + width,
+						y + height, x, y, x + width, y + height, null);
+				for (int i = 0; i < currentSprites.size(); i++)
+					if (dirtyRegion.intersects(r, currentSprites.getX(i),
+							currentSprites.getY(i), currentSprites.getWidth(i),
+							currentSprites.getHeight(i)))
+						drawSprite(currentSprites.getSpriteType(i),
+								currentSprites.getColor(i),
+								currentSprites.getX(i), currentSprites.getY(i));
+			}
+			backBufferGraphics.setClip(null);
+		}
+
+		previousForcedFull = fullRedraw;
+		retainedValid = true;
+	}
+
+	/**
+	 * Adds every rectangle of a region to another one.
+	 *
+	 * @param target
+	 *            Region receiving the rectangles.
+	 * @param source
+	 *            Region to copy.
+	 */
+	private static void addRegion(final DirtyRegion target,
+			final DirtyRegion source) {
+		if (source.isFull())
+			target.markFull();
+		for (int i = 0; i < source.size(); i++)
+			target.add(source.getX(i), source.getY(i), source.getWidth(i),
+					source.getHeight(i));
+	}
+
+	/**
+	 * Makes sure the back buffer matches the screen size.
+	 *
+	 * @param screen
+	 *            Screen to draw in.
+	 * @return True if the back buffer was reallocated.
+	 */
+	private static boolean prepareBackBuffer(final Screen screen) {
+		if (!fits(backBuffer, screen)) {
+			if (backBufferGraphics != null)
+				backBufferGraphics.dispose();
+			backBuffer = new BufferedImage(screen.getWidth(),
+					screen.getHeight(), BufferedImage.TYPE_INT_RGB);
+			backBufferGraphics = backBuffer.getGraphics();
+
+			fontSmallMetrics = backBufferGraphics.getFontMetrics(fontSmall);
+			fontRegularMetrics = backBufferGraphics.getFontMetrics(fontRegular);
+			fontBigMetrics = backBufferGraphics.getFontMetrics(fontBig);
+			return true;
+		}
+		return false;
+	}
+
 	/**
 	 * First part of the drawing process in thread. Initializes buffers each thread, draws the
 	 * background and prepares the images.
@@ -242,11 +458,67 @@ public final class DrawManager {
 	 */
 
 	public void initThreadDrawing(final Screen screen, final int threadNumber) {
-		BufferedImage threadBuffer = new BufferedImage(screen.getWidth(),screen.getHeight(), BufferedImage.TYPE_INT_RGB);
-		Graphics threadGraphic = threadBuffer.getGraphics();
+		TripleBuffer handoff = frameHandoffs[threadNumber];
+		threadBuffers[threadNumber] = handoff.prepareBack(screen.getWidth(),
+				screen.getHeight());
+		threadBufferGraphics[threadNumber] = handoff.getBackGraphics();
+
+		threadBufferGraphics[threadNumber].setColor(Color.BLACK);
+		threadBufferGraphics[threadNumber]
+				.fillRect(0, 0, screen.getWidth(), screen.getHeight());
+	}
 
-		threadBuffers[threadNumber] = threadBuffer;
-		threadBufferGraphics[threadNumber] = threadGraphic;
+	/**
+	 * Draws a string in the current font and color of a Graphics, through
+	 * the glyph atlas of the font when it has every character.
+	 *
+	 * @param graphics
+	 *            Graphics to draw with.
+	 * @param string
+	 *            String to draw.
+	 * @param x
+	 *            Left side of the text.
+	 * @param y
+	 *            Baseline of the text.
+	 */
+	private static void drawText(final Graphics graphics, final String string,
+			final int x, final int y) {
+		GlyphAtlas atlas = atlasOf(graphics.getFont());
+		if (atlas != null && atlas.canDisplay(string))
+			atlas.drawString(graphics, string, graphics.getColor(), x, y);
+		else
+			graphics.drawString(string, x, y);
+	}
+
+	/**
+	 * Finds the glyph atlas of a font.
+	 *
+	 * @param font
+	 *            Font to look up.
+	 * @return Atlas of the font, or null if it has none.
+	 */
+	private static GlyphAtlas atlasOf(final Font font) {
+		if (font == fontRegular)
+			return fontRegularAtlas;
+		if (font == fontBig)
+			return fontBigAtlas;
+		if (font == fontSmall)
+			return fontSmallAtlas;
+		return null;
+	}
+
+	/**
+	 * Checks if a buffer can be reused for a screen.
+	 *
+	 * @param buffer
+	 *            Buffer to check, may be null.
+	 * @param screen
+	 *            Screen to draw in.
+	 * @return True if the buffer exists and has the size of the screen.
+	 */
+	private static boolean fits(final BufferedImage buffer, final Screen screen) {
+		return buffer != null && buffer.getWidth() == screen.getWidth()
+				&& buffer.getHeight() == screen.getHeight();
 	}
 
 	/**
@@ -256,23 +528,28 @@ public final class DrawManager {
 	 *            Screen to draw on.
 	 */
 	public void completeDrawing(final Screen screen) {
-		graphics.drawImage(backBuffer, frame.getInsets().left,
-				frame.getInsets().top, frame);
+		long phaseStart = FrameProfiler.start();
+		frame.present(backBuffer);
+		FrameProfiler.end(FrameProfiler.Phase.COMPLETE_DRAWING, phaseStart);
 	}
 
 	/**
-	 * Merge second buffers to back buffer
+	 * Merge the latest complete frame of each player to back buffer
 	 *
 	 * @param screen
 	 *            Screen to draw on.
 	 */
 	public void mergeDrawing(final Screen screen) {
-		backBufferGraphics.drawImage(threadBuffers[2], 0, 0, frame);
-		backBufferGraphics.drawImage(threadBuffers[3], screen.getWidth() / 2 + LINE_WIDTH, 0, frame);
+		BufferedImage left = frameHandoffs[0].latest();
+		if (left != null)
+			backBufferGraphics.drawImage(left, 0, 0, frame);
+		BufferedImage right = frameHandoffs[1].latest();
+		if (right != null)
+			backBufferGraphics.drawImage(right, screen.getWidth() / 2 + LINE_WIDTH, 0, frame);
 	}
 
 	/**
-	 * Flush buffer to second buffer
+	 * Publishes the thread buffer as the latest complete frame of a player
 	 *
 	 * @param screen
 	 *            Screen to draw on.
@@ -280,11 +557,7 @@ public final class DrawManager {
 	 * 			  Thread number for two player mode
 	 */
 	public void flushBuffer(final Screen screen, final int threadNumber) {
-		BufferedImage threadBuffer = new BufferedImage(screen.getWidth(),screen.getHeight(), BufferedImage.TYPE_INT_RGB);
-		Graphics threadGraphic = threadBuffer.getGraphics();
-
-		threadGraphic.drawImage(threadBuffers[threadNumber], 0, 0, frame);
-		threadBuffers[threadNumber + 2] = threadBuffer;
+		frameHandoffs[threadNumber].publish();
 	}
 
 	/**
@@ -299,14 +572,32 @@ public final class DrawManager {
 	 */
 	public void drawEntity(final Entity entity, final int positionX,
 			final int positionY) {
-		boolean[][] image = spriteMap.get(entity.getSpriteType());
+		drawSprite(entity.getSpriteType(), entity.getColor(), positionX,
+				positionY);
+	}
 
-		backBufferGraphics.setColor(entity.getColor());
-		for (int i = 0; i < image.length; i++)
-			for (int j = 0; j < image[i].length; j++)
-				if (image[i][j])
-					backBufferGraphics.drawRect(positionX + i * 2, positionY
-							+ j * 2, 1, 1);
+	/**
+	 * Draws a sprite in the given color with the selected backend.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
+	public void drawSprite(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		if (recordingSprites) {
+			currentSprites.add(spriteType, color, positionX, positionY,
+					spriteWidths[spriteType.ordinal()],
+					spriteHeights[spriteType.ordinal()]);
+			return;
+		}
+		spriteRenderer.drawSprite(backBuffer, backBufferGraphics, spriteType,
+				color, positionX, positionY);
 	}
 
 
@@ -326,14 +617,28 @@ public final class DrawManager {
      */
     public void drawEntity(final Entity entity, final int positionX,
                            final int positionY, final int threadNumber) {
-        boolean[][] image = spriteMap.get(entity.getSpriteType());
-
-        threadBufferGraphics[threadNumber].setColor(entity.getColor());
-        for (int i = 0; i < image.length; i++)
-            for (int j = 0; j < image[i].length; j++)
-                if (image[i][j])
-                    threadBufferGraphics[threadNumber].drawRect(positionX + i * 2, positionY
-                            + j * 2, 1, 1);
+        drawSprite(entity.getSpriteType(), entity.getColor(), positionX,
+                positionY, threadNumber);
+    }
+
+    /**
+     * Draws a sprite in the given color with the selected backend.
+     *
+     * @param spriteType
+     *            Sprite to draw.
+     * @param color
+     *            Color of the sprite.
+     * @param positionX
+     *            Coordinates for the left side of the image.
+     * @param positionY
+     *            Coordinates for the upper side of the image.
+     * @param threadNumber
+     *            Thread number for two player mode
+     */
+    public void drawSprite(final SpriteType spriteType, final Color color,
+                           final int positionX, final int positionY, final int threadNumber) {
+        spriteRenderer.drawSprite(threadBuffers[threadNumber],
+                threadBufferGraphics[threadNumber], spriteType, color, positionX, positionY);
     }
 
 	public <T extends Entity> void drawEntities(Set<T> entities) {
@@ -348,6 +653,21 @@ public final class DrawManager {
 		}
 	}
 
+	/**
+	 * Draws every bullet of a store.
+	 *
+	 * @param bullets
+	 *            Bullets to draw.
+	 * @param threadNumber
+	 *            Thread number for two player mode
+	 */
+	public void drawBullets(final BulletStore bullets, final int threadNumber) {
+		for (int i = 0; i < bullets.size(); i++)
+			drawSprite(bullets.getSpriteType(i), BulletStore.COLOR,
+					bullets.getPositionX(i), bullets.getPositionY(i),
+					threadNumber);
+	}
+
 	/**
 	 * For debugging purposes, draws the canvas borders.
 	 * 
@@ -381,189 +701,92 @@ public final class DrawManager {
 	}
 
 	/**
-	 * Draws the current score on the screen.
-	 *
-	 * @param screen The screen object where the score will be displayed.
-	 * @param score  The current score to be displayed.
-	 */
-	public void drawScore(final Screen screen, final int score) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		String scoreString = String.format("%04d", score);
-		backBufferGraphics.drawString(scoreString, screen.getWidth() - 60, 25);
-	}
-    /**
-	 * Draws level on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
-	 * @param level
-	 *            Current level.
-	 */
-	public void drawLevel(final Screen screen, final int level) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		String levelString = String.format("lv.%d", level);
-		backBufferGraphics.drawString(levelString, screen.getWidth() / 2 - 60, 25);
-	}
-	/**
-	 * Draws level on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
-	 * @param level
-	 *            Current level.
-	 * @param threadNumber
-	 *            Thread number for two player mode
-	 */
-	public void drawLevel(final Screen screen, final int level, final int threadNumber) {
-		threadBufferGraphics[threadNumber].setFont(fontRegular);
-		threadBufferGraphics[threadNumber].setColor(Color.WHITE);
-		String levelString = String.format("lv.%d", level);
-		threadBufferGraphics[threadNumber].drawString(levelString, screen.getWidth() / 2 - 60, 25);
-	}
-
-	/**
-	 * Draws current score on screen.
+	 * Draws the game interface with a single blit of its cached layer:
+	 * lives, level, elapsed time, score, separation line, alert message and
+	 * combo. Only the parts whose value changed are rendered again.
 	 *
 	 * @param screen
 	 *            Screen to draw on.
+	 * @param separationLineY
+	 *            Upper side of the separation line.
 	 * @param score
 	 *            Current score.
-	 * @param threadNumber
-	 *            Thread number for two player mode
-	 */
-	public void drawScore(final Screen screen, final int score, final int threadNumber) {
-		threadBufferGraphics[threadNumber].setFont(fontRegular);
-		threadBufferGraphics[threadNumber].setColor(Color.WHITE);
-		String scoreString = String.format("%04d", score);
-		threadBufferGraphics[threadNumber].drawString(scoreString, screen.getWidth() - 60, 25);
-	}
-
-	/**
-	 * Draws elapsed time on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
 	 * @param elapsedTime
-	 *            Elapsed time.
-	 */
-	public void drawElapsedTime(final Screen screen, final int elapsedTime) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.LIGHT_GRAY);
-
-		int cent = (elapsedTime % 1000)/10;
-		int seconds = elapsedTime / 1000;
-		int sec = seconds % 60;
-		int min = seconds / 60;
-
-        String elapsedTimeString;
-        if (min < 1){
-            elapsedTimeString = String.format("%d.%02d", sec, cent);
-        } else {
-            elapsedTimeString = String.format("%d:%02d.%02d", min, sec, cent);
-        }
-        backBufferGraphics.drawString(elapsedTimeString, screen.getWidth()/2, 25);
-    }
-
-	/**
-	 * Draws elapsed time on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
-	 * @param elapsedTime
-	 *            Elapsed time.
-	 * @param threadNumber
-	 *            Thread number for two player mode
-	 */
-	public void drawElapsedTime(final Screen screen, final int elapsedTime, final int threadNumber) {
-		threadBufferGraphics[threadNumber].setFont(fontRegular);
-		threadBufferGraphics[threadNumber].setColor(Color.LIGHT_GRAY);
-
-        int cent = (elapsedTime % 1000)/10;
-        int seconds = elapsedTime / 1000;
-        int sec = seconds % 60;
-        int min = seconds / 60;
-
-		String elapsedTimeString;
-		if (min < 1){
-			elapsedTimeString = String.format("%d.%02d", sec, cent);
-		} else {
-			elapsedTimeString = String.format("%d:%02d.%02d", min, sec, cent);
-		}
-		threadBufferGraphics[threadNumber].drawString(elapsedTimeString, screen.getWidth()/2, 25);
-	}
-
-	/**
-
-	 * Draws alert message on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
+	 *            Elapsed time, in milliseconds.
 	 * @param alertMessage
 	 *            Alert message.
+	 * @param lives
+	 *            Current lives.
+	 * @param shipType
+	 *            Type of the player ship.
+	 * @param level
+	 *            Current level.
+	 * @param combo
+	 *            Number of enemies killed in a row.
 	 */
-	public void drawAlertMessage(final Screen screen, final String alertMessage) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.RED);
-		backBufferGraphics.drawString(alertMessage,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(alertMessage))/2, 65);
+	public void drawInterface(final Screen screen, final int separationLineY,
+			final int score, final int elapsedTime, final String alertMessage,
+			final int lives, final Ship.ShipType shipType, final int level,
+			final int combo) {
+		HudLayer layer = hudLayer(screen, separationLineY, SINGLE_PLAYER_HUD);
+		layer.update(score, elapsedTime, alertMessage, lives, shipType, level,
+				combo);
+		backBufferGraphics.drawImage(layer.getImage(), 0, 0, null);
 	}
 
 	/**
-
-	 * Draws alert message on screen.
+	 * Draws the game interface with a single blit of its cached layer.
 	 *
 	 * @param screen
 	 *            Screen to draw on.
+	 * @param separationLineY
+	 *            Upper side of the separation line.
+	 * @param score
+	 *            Current score.
+	 * @param elapsedTime
+	 *            Elapsed time, in milliseconds.
 	 * @param alertMessage
 	 *            Alert message.
-	 * @param threadNumber
-	 *            Thread number for two player mode
-	 */
-	public void drawAlertMessage(final Screen screen, final String alertMessage, final int threadNumber) {
-		threadBufferGraphics[threadNumber].setFont(fontRegular);
-		threadBufferGraphics[threadNumber].setColor(Color.RED);
-		threadBufferGraphics[threadNumber].drawString(alertMessage,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(alertMessage))/2, 65);
-	}
-
-	/**
-
-	 * Draws number of remaining lives on screen.
-	 * 
-	 * @param screen
-	 *            Screen to draw on.
 	 * @param lives
 	 *            Current lives.
+	 * @param shipType
+	 *            Type of the player ship.
+	 * @param level
+	 *            Current level.
+	 * @param combo
+	 *            Number of enemies killed in a row.
+	 * @param threadNumber
+	 *            Thread number for two player mode
 	 */
-	public void drawLives(final Screen screen, final int lives, final Ship.ShipType shipType) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(Integer.toString(lives), 20, 25);
-		Ship dummyShip = ShipFactory.create(shipType, 0, 0);
-		for (int i = 0; i < lives; i++)
-			drawEntity(dummyShip, 40 + 35 * i, 10);
+	public void drawInterface(final Screen screen, final int separationLineY,
+			final int score, final int elapsedTime, final String alertMessage,
+			final int lives, final Ship.ShipType shipType, final int level,
+			final int combo, final int threadNumber) {
+		HudLayer layer = hudLayer(screen, separationLineY, threadNumber);
+		layer.update(score, elapsedTime, alertMessage, lives, shipType, level,
+				combo);
+		threadBufferGraphics[threadNumber].drawImage(layer.getImage(), 0, 0, null);
 	}
 
-
 	/**
-	 * Draws number of remaining lives on screen.
+	 * Returns the interface layer of a drawing target, creating it when the
+	 * layout changes.
 	 *
 	 * @param screen
 	 *            Screen to draw on.
-	 * @param lives
-	 *            Current lives.
-	 * @param threadNumber
-	 *            Thread number for two player mode
+	 * @param separationLineY
+	 *            Upper side of the separation line.
+	 * @param index
+	 *            Thread number, or the single player index.
+	 * @return Interface layer.
 	 */
-	public void drawLives(final Screen screen, final int lives, final Ship.ShipType shipType, final int threadNumber) {
-		threadBufferGraphics[threadNumber].setFont(fontRegular);
-		threadBufferGraphics[threadNumber].setColor(Color.WHITE);
-		threadBufferGraphics[threadNumber].drawString(Integer.toString(lives), 20, 25);
-		Ship dummyShip = ShipFactory.create(shipType, 0, 0);
-		for (int i = 0; i < lives; i++)
-			drawEntity(dummyShip, 40 + 35 * i, 10, threadNumber);
+	private static HudLayer hudLayer(final Screen screen,
+			final int separationLineY, final int index) {
+		if (hudLayers[index] == null
+				|| !hudLayers[index].fits(screen.getWidth(), separationLineY))
+			hudLayers[index] = new HudLayer(screen.getWidth(), separationLineY,
+					fontRegularAtlas, spriteRenderer);
+		return hudLayers[index];
 	}
 
 	/**
@@ -1068,8 +1291,8 @@ public final class DrawManager {
 	 */
 	private void drawCenteredSmallString(final Screen screen, final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontSmallMetrics.stringWidth(string) / 2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() / 2
+				- fontSmallAtlas.stringWidth(string) / 2, height);
 	}
 
 	/**
@@ -1103,8 +1326,8 @@ public final class DrawManager {
 	public void drawCenteredRegularString(final Screen screen,
 			final String string, final int height) {
 		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() / 2
+				- fontRegularAtlas.stringWidth(string) / 2, height);
 	}
 
 	/**
@@ -1120,30 +1343,30 @@ public final class DrawManager {
 	public void drawCenteredBigString(final Screen screen, final String string,
 			final int height) {
 		backBufferGraphics.setFont(fontBig);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontBigMetrics.stringWidth(string) / 2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() / 2
+				- fontBigAtlas.stringWidth(string) / 2, height);
 	}
 
 	// left side score
 	public void drawLeftSideScoreRegularString(final Screen screen,
 											   final String string, final int height) {
 		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(string, screen.getWidth() / 4
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() / 4
+				- fontRegularAtlas.stringWidth(string) / 2, height);
 	}
 
 	//right side Cumulative score
 	public void drawRightSideCumulativeRegularString(final Screen screen,
 													 final String string, final int height) {
 		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(string, screen.getWidth() *71/ 100
-				- fontRegularMetrics.stringWidth(string)/2 , height);
+		drawText(backBufferGraphics, string, screen.getWidth() *71/ 100
+				- fontRegularAtlas.stringWidth(string)/2 , height);
 	}
 	public void drawRightSideCumulativeBigString(final Screen screen,
 												 final String string, final int height) {
 		backBufferGraphics.setFont(fontBig);
-		backBufferGraphics.drawString(string, screen.getWidth() *71/ 100
-				- fontBigMetrics.stringWidth(string)/2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() *71/ 100
+				- fontBigAtlas.stringWidth(string)/2, height);
 	}
 
 
@@ -1151,63 +1374,63 @@ public final class DrawManager {
 	public void drawLeftSideAchievementRegularString(final Screen screen,
 													 final String string, final int height) {
 		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(string, screen.getWidth() *22/ 100
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() *22/ 100
+				- fontRegularAtlas.stringWidth(string) / 2, height);
 	}
 
 	// right side achievement(sample)
 	public void drawRightSideAchievementSmallEventString(final Screen screen,
 												  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() *65/100-
-				fontRegularMetrics.stringWidth(string)/2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() *65/100-
+				fontRegularAtlas.stringWidth(string)/2, height);
 	}public void drawRightSideAchievementSmallEventString2(final Screen screen,
 												  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() *68/100-
-				fontRegularMetrics.stringWidth(string)/2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() *68/100-
+				fontRegularAtlas.stringWidth(string)/2, height);
 	}
 
 	public void drawRightSideAchievementBigString(final Screen screen,
 												  final String string, final int height) {
 		backBufferGraphics.setFont(fontBig);
-		backBufferGraphics.drawString(string, screen.getWidth() *63/100-
-						fontRegularMetrics.stringWidth(string), height);
+		drawText(backBufferGraphics, string, screen.getWidth() *63/100-
+						fontRegularAtlas.stringWidth(string), height);
 	}
 	public void drawRightSideAchievementComboString_1(final Screen screen,
 													  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() *52/100-
-				fontRegularMetrics.stringWidth(string), height);
+		drawText(backBufferGraphics, string, screen.getWidth() *52/100-
+				fontRegularAtlas.stringWidth(string), height);
 	}public void drawRightSideAchievementComboString_2(final Screen screen,
 													  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() *74/100-
-				fontRegularMetrics.stringWidth(string), height);
+		drawText(backBufferGraphics, string, screen.getWidth() *74/100-
+				fontRegularAtlas.stringWidth(string), height);
 	}
 	public void drawRightSideAchievementSmallString_1(final Screen screen,
 												  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() *59/100-
-				fontRegularMetrics.stringWidth(string), height);
+		drawText(backBufferGraphics, string, screen.getWidth() *59/100-
+				fontRegularAtlas.stringWidth(string), height);
 	}public void drawRightSideAchievementSmallString_2(final Screen screen,
 												  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() *77/100-
-				fontRegularMetrics.stringWidth(string), height);
+		drawText(backBufferGraphics, string, screen.getWidth() *77/100-
+				fontRegularAtlas.stringWidth(string), height);
 	}
 
 	public void drawRightSideAchievementSmallString_3(final Screen screen,
 													  final String string, final int height) {
 		backBufferGraphics.setFont(fontSmall);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2-
-				fontRegularMetrics.stringWidth(string) / 7, height);
+		drawText(backBufferGraphics, string, screen.getWidth() / 2-
+				fontRegularAtlas.stringWidth(string) / 7, height);
 	}
 
 	public void drawRightSideAchievementCoinBigString(final Screen screen,
 													final String string, final int height) {
 		backBufferGraphics.setFont(fontBig);
-		backBufferGraphics.drawString(string, screen.getWidth()*81/100 , height);
+		drawText(backBufferGraphics, string, screen.getWidth()*81/100 , height);
 	}
 
 	/**
@@ -1225,8 +1448,8 @@ public final class DrawManager {
 	public void drawCenteredBigString(final Screen screen, final String string,
 									  final int height, final int threadNumber) {
 		threadBufferGraphics[threadNumber].setFont(fontBig);
-		threadBufferGraphics[threadNumber].drawString(string, screen.getWidth() / 2
-				- fontBigMetrics.stringWidth(string) / 2, height);
+		drawText(threadBufferGraphics[threadNumber], string, screen.getWidth() / 2
+				- fontBigAtlas.stringWidth(string) / 2, height);
 	}
 
 	/**
@@ -1281,13 +1504,28 @@ public final class DrawManager {
 	 *            remaining reload time.
 	 */
 	public void drawReloadTimer(final Screen screen,final Ship ship,final long remainingTime) {
+		drawReloadTimer(ship.getPositionX(), ship.getPositionY(),
+				ship.getWidth(), remainingTime);
+	}
+
+	/**
+	 * Draws ReloadTimer on screen, above a ship at the given position.
+	 *
+	 * @param shipX
+	 *            Left side of the player's ship.
+	 * @param shipY
+	 *            Upper side of the player's ship.
+	 * @param shipWidth
+	 *            Width of the player's ship.
+	 * @param remainingTime
+	 *            remaining reload time.
+	 */
+	public void drawReloadTimer(final int shipX, final int shipY,
+			final int shipWidth, final long remainingTime) {
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.WHITE);
 		if(remainingTime > 0){
 
-			int shipX = ship.getPositionX();
-			int shipY = ship.getPositionY();
-			int shipWidth = ship.getWidth();
 			int circleSize = 16;
 			int endAngle = switch (Core.BASE_SHIP) {
                 case Ship.ShipType.VoidReaper -> 360 * (int) remainingTime / (int) (750 * 0.4);
@@ -1332,41 +1570,6 @@ public final class DrawManager {
 		}
 	}
 
-  /**
-	 * Draws Combo on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
-	 * @param combo
-	 *            Number of enemies killed in a row.
-	 */
-	public void drawCombo(final Screen screen, final int combo) {
-		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.setColor(Color.WHITE);
-		if (combo >= 2) {
-			String comboString = String.format("Combo %03d", combo);
-			backBufferGraphics.drawString(comboString, screen.getWidth() - 100, 85);
-		}
-	}
-	/**
-	 * Draws Combo on screen.
-	 *
-	 * @param screen
-	 *            Screen to draw on.
-	 * @param combo
-	 *            Number of enemies killed in a row.
-	 * @param threadNumber
-	 * 			  Thread number for two player mode
-	 */
-	public void drawCombo(final Screen screen, final int combo, final int threadNumber) {
-		threadBufferGraphics[threadNumber].setFont(fontRegular);
-		threadBufferGraphics[threadNumber].setColor(Color.WHITE);
-		if (combo >= 2) {
-			String comboString = String.format("Combo %03d", combo);
-			threadBufferGraphics[threadNumber].drawString(comboString, screen.getWidth() - 100, 85);
-		}
-	}
-
 	/**
 	 * Countdown to game start.
 	 *
@@ -1449,18 +1652,18 @@ public final class DrawManager {
 
 		backBufferGraphics.setFont(fontRegular);
 		backBufferGraphics.setColor(Color.GREEN);
-		backBufferGraphics.drawString(levelString,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(levelString))/2,
+		drawText(backBufferGraphics, levelString,
+				(screen.getWidth() - fontRegularAtlas.stringWidth(levelString))/2,
 				5*screen.getHeight()/7);
 		backBufferGraphics.setColor(Color.WHITE);
-		backBufferGraphics.drawString(comboString,
-			(screen.getWidth() - fontRegularMetrics.stringWidth(comboString))/2,
+		drawText(backBufferGraphics, comboString,
+			(screen.getWidth() - fontRegularAtlas.stringWidth(comboString))/2,
 				5*screen.getHeight()/7 + 21);
-		backBufferGraphics.drawString(timeString,
-						(screen.getWidth() - fontRegularMetrics.stringWidth(timeString))/2,
+		drawText(backBufferGraphics, timeString,
+						(screen.getWidth() - fontRegularAtlas.stringWidth(timeString))/2,
 				5*screen.getHeight()/7 + 42);
-		backBufferGraphics.drawString(scoreString,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(scoreString))/2,
+		drawText(backBufferGraphics, scoreString,
+				(screen.getWidth() - fontRegularAtlas.stringWidth(scoreString))/2,
 				5*screen.getHeight()/7 + 63);
 		}
 
@@ -1507,18 +1710,18 @@ public final class DrawManager {
 
 		threadBufferGraphics[threadNumber].setFont(fontRegular);
 		threadBufferGraphics[threadNumber].setColor(Color.GREEN);
-		threadBufferGraphics[threadNumber].drawString(levelString,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(levelString))/2,
+		drawText(threadBufferGraphics[threadNumber], levelString,
+				(screen.getWidth() - fontRegularAtlas.stringWidth(levelString))/2,
 				5*screen.getHeight()/7);
 		threadBufferGraphics[threadNumber].setColor(Color.WHITE);
-		threadBufferGraphics[threadNumber].drawString(comboString,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(comboString))/2,
+		drawText(threadBufferGraphics[threadNumber], comboString,
+				(screen.getWidth() - fontRegularAtlas.stringWidth(comboString))/2,
 				5*screen.getHeight()/7 + 21);
-		threadBufferGraphics[threadNumber].drawString(timeString,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(timeString))/2,
+		drawText(threadBufferGraphics[threadNumber], timeString,
+				(screen.getWidth() - fontRegularAtlas.stringWidth(timeString))/2,
 				5*screen.getHeight()/7 + 42);
-		threadBufferGraphics[threadNumber].drawString(scoreString,
-				(screen.getWidth() - fontRegularMetrics.stringWidth(scoreString))/2,
+		drawText(threadBufferGraphics[threadNumber], scoreString,
+				(screen.getWidth() - fontRegularAtlas.stringWidth(scoreString))/2,
 				5*screen.getHeight()/7 + 63);
 	}
 
@@ -1572,7 +1775,7 @@ public final class DrawManager {
 			backBufferGraphics.fillRect(x + index*60, y+index*20, (isSelected ? 10 : 0), 10);
 			// Ship name
 			backBufferGraphics.setFont(fontRegular);
-			backBufferGraphics.drawString(Ship.ShipType.values()[index].name(), x + index*60 + 15, y+index*20);
+			drawText(backBufferGraphics, Ship.ShipType.values()[index].name(), x + index*60 + 15, y+index*20);
 		} else {
 			// Ship box
 			backBufferGraphics.setColor(isSelected ? Color.GREEN : Color.WHITE);
@@ -1581,7 +1784,7 @@ public final class DrawManager {
 			backBufferGraphics.fillRect(x + index*60, y+index*20, (isSelected ? 10 : 0), 10);
 			// Ship name
 			backBufferGraphics.setFont(fontRegular);
-			backBufferGraphics.drawString(Ship.ShipType.values()[index].name(), x + index*60 + 15, y + index*20);
+			drawText(backBufferGraphics, Ship.ShipType.values()[index].name(), x + index*60 + 15, y + index*20);
 		}
 
 	}
@@ -1591,8 +1794,8 @@ public final class DrawManager {
 		backBufferGraphics.setFont(fontRegular);
 		// 선택된 경우 초록색, 그렇지 않으면 흰색으로 표시
 		backBufferGraphics.setColor(isSelected ? Color.GREEN : Color.WHITE);
-		backBufferGraphics.drawString(string, screen.getWidth() / 2
-				- fontRegularMetrics.stringWidth(string) / 2, height);
+		drawText(backBufferGraphics, string, screen.getWidth() / 2
+				- fontRegularAtlas.stringWidth(string) / 2, height);
 	}
 
 	/**
@@ -1728,7 +1931,7 @@ public final class DrawManager {
 		backBufferGraphics.drawImage(img_coin, screen.getWidth()/80*39-(coinString.length()-3)*screen.getWidth()/80,screen.getHeight()/80*18,coinSize,coinSize,null);
 		backBufferGraphics.setColor(Color.WHITE);
 		backBufferGraphics.setFont(fontRegular);
-		backBufferGraphics.drawString(coinString,screen.getWidth()/80*44-(coinString.length()-3)*screen.getWidth()/80,screen.getHeight()/80*20);
+		drawText(backBufferGraphics, coinString,screen.getWidth()/80*44-(coinString.length()-3)*screen.getWidth()/80,screen.getHeight()/80*20);
 
 		for(int i = 0;i<4;i++)
 		{
@@ -1751,7 +1954,7 @@ public final class DrawManager {
 		backBufferGraphics.setColor(Color.WHITE);
 		backBufferGraphics.drawImage(itemImages[option-1],imgstartx,imgstarty + (imgdis*(option-1)),50,40,null);
 		backBufferGraphics.drawImage(img_coin,coinstartx,coinstarty + (coindis*(option-1)),coinSize,coinSize,null);
-		backBufferGraphics.drawString("X "+costs[walletLevel[option-1]-1],cointextstartx,cointextstarty + (cointextdis*(option-1)));
+		drawText(backBufferGraphics, "X "+costs[walletLevel[option-1]-1],cointextstartx,cointextstarty + (cointextdis*(option-1)));
 
 		backBufferGraphics.setColor(Color.WHITE);
 		drawCenteredRegularString(screen,exitString,screen.getHeight()/80*80);
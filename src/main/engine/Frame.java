@@ -1,13 +1,20 @@
 package engine;
 
+import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.Image;
 import java.awt.Insets;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
 
 import javax.swing.JFrame;
 
 import screen.Screen;
 
 /**
- * Implements a frame to show screens on.
+ * Implements a frame to show screens on. Images are presented actively
+ * through the page flipping {@link BufferStrategy} of a canvas covering the
+ * content area, from the thread that renders them.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -15,12 +22,23 @@ import screen.Screen;
 @SuppressWarnings("serial")
 public class Frame extends JFrame {
 
+	/** Number of pages of the buffer strategy. */
+	private static final int PAGES = 2;
+
 	/** Frame width. */
 	private int width;
 	/** Frame height. */
 	private int height;
 	/** Screen currently shown. */
 	private Screen currentScreen;
+	/** Surface covering the content area, owner of the buffer strategy. */
+	private final Canvas canvas;
+	/** Buffer strategy of the canvas. */
+	private BufferStrategy strategy;
+	/** Canvas width the strategy was created for. */
+	private int strategyWidth;
+	/** Canvas height the strategy was created for. */
+	private int strategyHeight;
 
 	/**
 	 * Initializes the new frame.
@@ -34,9 +52,17 @@ public class Frame extends JFrame {
 		setSize(width, height);
 		setResizable(false);
 		setDefaultCloseOperation(EXIT_ON_CLOSE);
+		setIgnoreRepaint(true);
+
+		canvas = new Canvas();
+		canvas.setIgnoreRepaint(true);
+		canvas.setFocusable(true);
+		canvas.addKeyListener(Core.getInputManager());
+		getContentPane().add(canvas);
 
 		setLocationRelativeTo(null);
 		setVisible(true);
+		canvas.requestFocus();
 
 		Insets insets = getInsets();
 		this.width = width - insets.left - insets.right;
@@ -59,6 +85,40 @@ public class Frame extends JFrame {
 		return currentScreen.run();
 	}
 
+	/**
+	 * Shows an image on the frame, drawn at the top left corner of the
+	 * content area. Redraws as long as the buffer contents are restored or
+	 * lost, and recreates the buffer strategy when the canvas is resized.
+	 * 
+	 * @param image
+	 *            Image to show.
+	 */
+	public final void present(final Image image) {
+		if (strategy == null || canvas.getWidth() != strategyWidth
+				|| canvas.getHeight() != strategyHeight) {
+			if (!canvas.isDisplayable())
+				return;
+			strategyWidth = canvas.getWidth();
+			strategyHeight = canvas.getHeight();
+			canvas.createBufferStrategy(PAGES);
+			strategy = canvas.getBufferStrategy();
+		}
+
+		do {
+			do {
+				Graphics graphics = strategy.getDrawGraphics();
+				try {
+					graphics.drawImage(image, 0, 0, null);
+				} finally {
+					graphics.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+
+		Toolkit.getDefaultToolkit().sync();
+	}
+
 	/**
 	 * Getter for frame width.
 	 * 
@@ -0,0 +1,63 @@
+package engine;
+
+/**
+ * Waits for absolute frame deadlines measured with {@link System#nanoTime()}.
+ * Sleeps while the deadline is far away and spins for the last stretch, so
+ * the wake-up is not at the mercy of the OS scheduler granularity. How late
+ * {@link Thread#sleep(long)} usually returns is learned while running.
+ */
+public final class FramePacer {
+
+	/** Length of a single sleep, in nanoseconds. */
+	private static final long SLEEP_SLICE = 1_000_000L;
+	/** Initial guess of how late a sleep returns, in nanoseconds. */
+	private static final long INITIAL_OVERSHOOT = 500_000L;
+	/** Upper bound of the learned overshoot, in nanoseconds. */
+	private static final long MAX_OVERSHOOT = 4_000_000L;
+	/** Each new sample moves the estimate by 1/2^SMOOTHING of the error. */
+	private static final int SMOOTHING = 3;
+
+	/** Learned sleep overshoot, in nanoseconds. */
+	private long overshoot;
+
+	/**
+	 * Constructor, starts with a conservative overshoot estimate.
+	 */
+	public FramePacer() {
+		this.overshoot = INITIAL_OVERSHOOT;
+	}
+
+	/**
+	 * Blocks until the given deadline is reached.
+	 *
+	 * @param deadline
+	 *            Target time, in {@link System#nanoTime()} units.
+	 * @throws InterruptedException
+	 *             If the thread is interrupted while sleeping.
+	 */
+	public void waitUntil(final long deadline) throws InterruptedException {
+		long remaining = deadline - System.nanoTime();
+
+		while (remaining > SLEEP_SLICE + this.overshoot) {
+			long start = System.nanoTime();
+			Thread.sleep(SLEEP_SLICE / 1_000_000L);
+			long late = System.nanoTime() - start - SLEEP_SLICE;
+
+			this.overshoot += (Math.max(0, late) - this.overshoot) >> SMOOTHING;
+			this.overshoot = Math.min(this.overshoot, MAX_OVERSHOOT);
+			remaining = deadline - System.nanoTime();
+		}
+
+		while (deadline - System.nanoTime() > 0)
+			Thread.onSpinWait();
+	}
+
+	/**
+	 * Getter for the learned sleep overshoot.
+	 *
+	 * @return Expected lateness of a sleep, in nanoseconds.
+	 */
+	public long getOvershoot() {
+		return this.overshoot;
+	}
+}
@@ -0,0 +1,137 @@
+package engine;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Times the phases of a game frame. Each phase keeps its own
+ * {@link LatencyHistogram}, so timing a phase costs two nanoTime calls and
+ * no allocation. Shared by every game screen, including both players of a
+ * two player game.
+ */
+public final class FrameProfiler {
+
+	/** Name of the report file, written next to the log. */
+	public static final String REPORT_FILE = "profile";
+
+	/**
+	 * Timed parts of a frame.
+	 */
+	public enum Phase {
+		/** GameScreen.handlePlayerActions. */
+		PLAYER_ACTIONS,
+		/** GameScreen.updateShipStatus. */
+		SHIP_STATUS,
+		/** GameScreen.updateEnemiesAndBullets. */
+		ENEMIES_AND_BULLETS,
+		/** GameScreen.manageCollisions. */
+		COLLISIONS,
+		/** GameScreen.cleanBullets. */
+		CLEAN_BULLETS,
+		/**
+		 * GameScreen.draw or drawThread, presentation included in two player
+		 * mode and waiting for the render thread in single player mode.
+		 */
+		DRAW,
+		/** RenderThread replaying a recorded frame, presentation included. */
+		RENDER,
+		/** DrawManager.completeDrawing. */
+		COMPLETE_DRAWING
+	}
+
+	/** One histogram per phase, indexed by ordinal. */
+	private static final LatencyHistogram[] HISTOGRAMS;
+
+	static {
+		Phase[] phases = Phase.values();
+		HISTOGRAMS = new LatencyHistogram[phases.length];
+		for (int i = 0; i < phases.length; i++)
+			HISTOGRAMS[i] = new LatencyHistogram();
+	}
+
+	/**
+	 * Constructor, not called.
+	 */
+	private FrameProfiler() {
+
+	}
+
+	/**
+	 * Marks the start of a phase.
+	 *
+	 * @return Start time, to be passed to {@link #end(Phase, long)}.
+	 */
+	public static long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of a phase and records its duration.
+	 *
+	 * @param phase
+	 *            Phase that ended.
+	 * @param startTime
+	 *            Value returned by {@link #start()}.
+	 */
+	public static void end(final Phase phase, final long startTime) {
+		HISTOGRAMS[phase.ordinal()].record(System.nanoTime() - startTime);
+	}
+
+	/**
+	 * Getter for the histogram of a phase.
+	 *
+	 * @param phase
+	 *            Phase to look up.
+	 * @return Histogram of the phase.
+	 */
+	public static LatencyHistogram getHistogram(final Phase phase) {
+		return HISTOGRAMS[phase.ordinal()];
+	}
+
+	/**
+	 * Forgets every sample.
+	 */
+	public static void reset() {
+		for (LatencyHistogram histogram : HISTOGRAMS)
+			histogram.reset();
+	}
+
+	/**
+	 * Writes a table with count, p50, p99 and max of each phase, in
+	 * microseconds.
+	 *
+	 * @param writer
+	 *            Destination of the report.
+	 */
+	public static void report(final Writer writer) {
+		PrintWriter out = new PrintWriter(writer);
+		out.printf("%-20s %10s %10s %10s %10s%n", "phase (us)", "count",
+				"p50", "p99", "max");
+		for (Phase phase : Phase.values()) {
+			LatencyHistogram histogram = HISTOGRAMS[phase.ordinal()];
+			out.printf("%-20s %10d %10.1f %10.1f %10.1f%n", phase,
+					histogram.getCount(),
+					histogram.getPercentile(0.50) / 1000.0,
+					histogram.getPercentile(0.99) / 1000.0,
+					histogram.getMax() / 1000.0);
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the report to {@link #REPORT_FILE} in the working directory.
+	 *
+	 * @throws IOException
+	 *             In case of writing problems.
+	 */
+	public static void dump() throws IOException {
+		try (Writer writer = Files.newBufferedWriter(Paths.get(REPORT_FILE),
+				StandardCharsets.UTF_8)) {
+			report(writer);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package engine;
+
+/**
+ * Source of game time. Follows the wall clock while the game is played; a
+ * headless simulation switches it to a virtual clock that only moves when a
+ * tick is simulated, so cooldowns keep their meaning at any speed.
+ */
+public final class GameClock {
+
+	/** If the virtual clock is in use. */
+	private static volatile boolean simulated;
+	/** Current virtual time, in nanoseconds. */
+	private static volatile long simulatedNanos;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private GameClock() {
+
+	}
+
+	/**
+	 * Returns the current game time.
+	 *
+	 * @return Milliseconds since the epoch, real or simulated.
+	 */
+	public static long currentTimeMillis() {
+		if (simulated)
+			return simulatedNanos / 1_000_000L;
+		return System.currentTimeMillis();
+	}
+
+	/**
+	 * Switches to the virtual clock, starting at the current wall time.
+	 */
+	public static void startSimulation() {
+		simulatedNanos = System.currentTimeMillis() * 1_000_000L;
+		simulated = true;
+	}
+
+	/**
+	 * Returns to the wall clock.
+	 */
+	public static void stopSimulation() {
+		simulated = false;
+	}
+
+	/**
+	 * Checks if the virtual clock is in use.
+	 *
+	 * @return True when time only advances with the simulation.
+	 */
+	public static boolean isSimulated() {
+		return simulated;
+	}
+
+	/**
+	 * Moves the virtual clock forward. Does nothing on the wall clock.
+	 *
+	 * @param nanoseconds
+	 *            Time to advance.
+	 */
+	public static void advance(final long nanoseconds) {
+		if (simulated)
+			simulatedNanos += nanoseconds;
+	}
+}
@@ -0,0 +1,343 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Bitmap of the printable ASCII glyphs of a font, rendered once at startup
+ * with the same settings as the screen buffers, plus the advance width of
+ * each glyph. Text is drawn as one image blit per glyph, and numbers can be
+ * drawn digit by digit without building a String. Tinted copies are made
+ * once per color.
+ */
+public final class GlyphAtlas {
+
+	/** First glyph in the atlas. */
+	private static final char FIRST = ' ';
+	/** Last glyph in the atlas. */
+	private static final char LAST = '~';
+	/** Glyphs per atlas row. */
+	private static final int COLUMNS = 16;
+	/** Colors kept before the tinted copies are dropped. */
+	private static final int MAX_COLORS = 16;
+
+	/** Advance width of each glyph. */
+	private final int[] advances = new int[LAST - FIRST + 1];
+	/** Left side of each glyph relative to the pen position. */
+	private final int[] offsetX = new int[LAST - FIRST + 1];
+	/** Upper side of each glyph relative to the baseline. */
+	private final int[] offsetY = new int[LAST - FIRST + 1];
+	/** Width of each glyph bitmap. */
+	private final int[] widths = new int[LAST - FIRST + 1];
+	/** Height of each glyph bitmap. */
+	private final int[] heights = new int[LAST - FIRST + 1];
+	/** Left side of each glyph in the atlas. */
+	private final int[] atlasX = new int[LAST - FIRST + 1];
+	/** Upper side of each glyph in the atlas. */
+	private final int[] atlasY = new int[LAST - FIRST + 1];
+	/** White glyphs on a transparent background. */
+	private final BufferedImage mask;
+	/** Metrics of the font, for characters outside the atlas. */
+	private final FontMetrics metrics;
+
+	/**
+	 * Tinted copies of the atlas, replaced as a whole so a reader always
+	 * sees colors and images that belong together.
+	 */
+	private static final class Tints {
+		/** ARGB value of each tinted copy. */
+		private final int[] colors;
+		/** Tinted copy for each color. */
+		private final BufferedImage[] images;
+
+		/**
+		 * Constructor, establishes the tinted copies.
+		 *
+		 * @param colors
+		 *            ARGB value of each tinted copy.
+		 * @param images
+		 *            Tinted copy for each color.
+		 */
+		private Tints(final int[] colors, final BufferedImage[] images) {
+			this.colors = colors;
+			this.images = images;
+		}
+	}
+
+	/** No tinted copy yet. */
+	private static final Tints NO_TINTS = new Tints(new int[0],
+			new BufferedImage[0]);
+
+	/** Published tinted copies. */
+	private volatile Tints tints = NO_TINTS;
+
+	/**
+	 * Constructor, renders the glyphs of a font.
+	 *
+	 * @param font
+	 *            Font to render.
+	 */
+	public GlyphAtlas(final Font font) {
+		BufferedImage scratch = new BufferedImage(1, 1,
+				BufferedImage.TYPE_INT_RGB);
+		Graphics2D scratchGraphics = scratch.createGraphics();
+		FontRenderContext context = scratchGraphics.getFontRenderContext();
+		FontMetrics metrics = scratchGraphics.getFontMetrics(font);
+		scratchGraphics.dispose();
+		this.metrics = metrics;
+
+		int cellWidth = 1;
+		int cellHeight = 1;
+		for (char c = FIRST; c <= LAST; c++) {
+			int i = c - FIRST;
+			Rectangle bounds = font.createGlyphVector(context,
+					String.valueOf(c)).getPixelBounds(context, 0, 0);
+			this.advances[i] = metrics.charWidth(c);
+			this.offsetX[i] = bounds.x;
+			this.offsetY[i] = bounds.y;
+			this.widths[i] = bounds.width;
+			this.heights[i] = bounds.height;
+			cellWidth = Math.max(cellWidth, bounds.width);
+			cellHeight = Math.max(cellHeight, bounds.height);
+		}
+
+		int rows = (LAST - FIRST) / COLUMNS + 1;
+		this.mask = new BufferedImage(cellWidth * COLUMNS, cellHeight * rows,
+				BufferedImage.TYPE_INT_ARGB);
+		Graphics2D graphics = this.mask.createGraphics();
+		graphics.setFont(font);
+		graphics.setColor(Color.WHITE);
+		for (char c = FIRST; c <= LAST; c++) {
+			int i = c - FIRST;
+			this.atlasX[i] = (i % COLUMNS) * cellWidth;
+			this.atlasY[i] = (i / COLUMNS) * cellHeight;
+			graphics.drawString(String.valueOf(c),
+					this.atlasX[i] - this.offsetX[i],
+					this.atlasY[i] - this.offsetY[i]);
+		}
+		graphics.dispose();
+	}
+
+	/**
+	 * Checks if every character of a string is in the atlas.
+	 *
+	 * @param string
+	 *            String to check.
+	 * @return True if the string can be drawn with the atlas.
+	 */
+	public boolean canDisplay(final String string) {
+		for (int i = 0; i < string.length(); i++)
+			if (string.charAt(i) < FIRST || string.charAt(i) > LAST)
+				return false;
+		return true;
+	}
+
+	/**
+	 * Width of a string, as FontMetrics.stringWidth would return it.
+	 * Characters outside the atlas are measured with the font metrics.
+	 *
+	 * @param string
+	 *            String to measure.
+	 * @return Advance width in pixels.
+	 */
+	public int stringWidth(final String string) {
+		int width = 0;
+		for (int i = 0; i < string.length(); i++)
+			width += advance(string.charAt(i));
+		return width;
+	}
+
+	/**
+	 * Draws a string.
+	 *
+	 * @param graphics
+	 *            Graphics to draw with.
+	 * @param string
+	 *            String made of atlas characters.
+	 * @param color
+	 *            Text color.
+	 * @param x
+	 *            Left side of the text.
+	 * @param y
+	 *            Baseline of the text.
+	 * @return Pen position after the text.
+	 */
+	public int drawString(final Graphics graphics, final String string,
+			final Color color, final int x, final int y) {
+		BufferedImage tint = tint(color);
+		int pen = x;
+		for (int i = 0; i < string.length(); i++)
+			pen = drawGlyph(graphics, tint, string.charAt(i), pen, y);
+		return pen;
+	}
+
+	/**
+	 * Draws part of a char array.
+	 *
+	 * @param graphics
+	 *            Graphics to draw with.
+	 * @param chars
+	 *            Characters, all in the atlas.
+	 * @param offset
+	 *            First character to draw.
+	 * @param length
+	 *            Number of characters to draw.
+	 * @param color
+	 *            Text color.
+	 * @param x
+	 *            Left side of the text.
+	 * @param y
+	 *            Baseline of the text.
+	 * @return Pen position after the text.
+	 */
+	public int drawChars(final Graphics graphics, final char[] chars,
+			final int offset, final int length, final Color color,
+			final int x, final int y) {
+		BufferedImage tint = tint(color);
+		int pen = x;
+		for (int i = offset; i < offset + length; i++)
+			pen = drawGlyph(graphics, tint, chars[i], pen, y);
+		return pen;
+	}
+
+	/**
+	 * Draws a non negative number padded with zeros, without building a
+	 * String.
+	 *
+	 * @param graphics
+	 *            Graphics to draw with.
+	 * @param value
+	 *            Number to draw.
+	 * @param minDigits
+	 *            Minimum number of digits.
+	 * @param color
+	 *            Text color.
+	 * @param x
+	 *            Left side of the number.
+	 * @param y
+	 *            Baseline of the number.
+	 * @return Pen position after the number.
+	 */
+	public int drawInt(final Graphics graphics, final int value,
+			final int minDigits, final Color color, final int x, final int y) {
+		BufferedImage tint = tint(color);
+		int pen = x;
+		if (value < 0)
+			pen = drawGlyph(graphics, tint, '-', pen, y);
+
+		long rest = Math.abs((long) value);
+		int digits = 1;
+		long divisor = 1;
+		while (rest / divisor >= 10) {
+			divisor *= 10;
+			digits++;
+		}
+		for (int i = digits; i < minDigits; i++)
+			pen = drawGlyph(graphics, tint, '0', pen, y);
+		for (; divisor > 0; divisor /= 10)
+			pen = drawGlyph(graphics, tint, (char) ('0' + rest / divisor % 10),
+					pen, y);
+		return pen;
+	}
+
+	/**
+	 * Advance width of a character.
+	 *
+	 * @param c
+	 *            Character, measured with the font metrics if outside the
+	 *            atlas.
+	 * @return Advance in pixels.
+	 */
+	private int advance(final char c) {
+		if (c < FIRST || c > LAST)
+			return this.metrics.charWidth(c);
+		return this.advances[c - FIRST];
+	}
+
+	/**
+	 * Blits a glyph.
+	 *
+	 * @param graphics
+	 *            Graphics to draw with.
+	 * @param tint
+	 *            Atlas in the text color.
+	 * @param c
+	 *            Character in the atlas.
+	 * @param x
+	 *            Pen position.
+	 * @param y
+	 *            Baseline.
+	 * @return Pen position after the glyph.
+	 */
+	private int drawGlyph(final Graphics graphics, final BufferedImage tint,
+			final char c, final int x, final int y) {
+		int i = c - FIRST;
+		if (this.widths[i] > 0) {
+			int left = x + this.offsetX[i];
+			int top = y + this.offsetY[i];
+			graphics.drawImage(tint, left, top, left + this.widths[i],
+					top + this.heights[i], this.atlasX[i], this.atlasY[i],
+					this.atlasX[i] + this.widths[i],
+					this.atlasY[i] + this.heights[i], null);
+		}
+		return x + this.advances[i];
+	}
+
+	/**
+	 * Returns the atlas in a color, tinting it on first use.
+	 *
+	 * @param color
+	 *            Text color.
+	 * @return Tinted atlas.
+	 */
+	private BufferedImage tint(final Color color) {
+		int rgb = color.getRGB();
+		Tints tints = this.tints;
+		for (int i = 0; i < tints.colors.length; i++)
+			if (tints.colors[i] == rgb)
+				return tints.images[i];
+		return addTint(color);
+	}
+
+	/**
+	 * Tints the atlas in a new color and publishes it.
+	 *
+	 * @param color
+	 *            Text color.
+	 * @return Tinted atlas.
+	 */
+	private synchronized BufferedImage addTint(final Color color) {
+		int rgb = color.getRGB();
+		Tints tints = this.tints;
+		for (int i = 0; i < tints.colors.length; i++)
+			if (tints.colors[i] == rgb)
+				return tints.images[i];
+		if (tints.colors.length >= MAX_COLORS)
+			tints = NO_TINTS;
+
+		BufferedImage tint = SpriteCache.createImage(this.mask.getWidth(),
+				this.mask.getHeight());
+		Graphics2D graphics = tint.createGraphics();
+		graphics.setColor(color);
+		for (int y = 0; y < this.mask.getHeight(); y++)
+			for (int x = 0; x < this.mask.getWidth(); x++)
+				if ((this.mask.getRGB(x, y) >>> 24) != 0)
+					graphics.fillRect(x, y, 1, 1);
+		graphics.dispose();
+
+		int size = tints.colors.length;
+		int[] newColors = Arrays.copyOf(tints.colors, size + 1);
+		BufferedImage[] newImages = Arrays.copyOf(tints.images, size + 1);
+		newColors[size] = rgb;
+		newImages[size] = tint;
+		this.tints = new Tints(newColors, newImages);
+		return tint;
+	}
+}
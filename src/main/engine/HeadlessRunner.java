@@ -0,0 +1,94 @@
+package engine;
+
+import java.awt.event.KeyEvent;
+import java.io.OutputStreamWriter;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+import entity.BulletStore;
+import entity.Wallet;
+import screen.GameScreen;
+
+/**
+ * Plays levels without a window, sound or rendering, as fast as the
+ * simulation allows. The player holds fire and sweeps from side to side.
+ * Reports how many simulation ticks per second the machine sustains.
+ *
+ * Usage: HeadlessRunner [level] [maxTicks]
+ */
+public final class HeadlessRunner {
+
+	/** Ticks the scripted player keeps moving in one direction. */
+	private static final int SWEEP_TICKS = 90;
+	/** Default level to play. */
+	private static final int DEFAULT_LEVEL = 1;
+	/** Default limit of ticks, one hour of game time at 60 fps. */
+	private static final long DEFAULT_MAX_TICKS = 60L * 60 * 60;
+
+	/**
+	 * Constructor, not called.
+	 */
+	private HeadlessRunner() {
+
+	}
+
+	/**
+	 * Runs a headless level.
+	 *
+	 * @param args
+	 *            Optional level and tick limit.
+	 */
+	public static void main(final String[] args) {
+		System.setProperty("java.awt.headless", "true");
+		int level = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LEVEL;
+		long maxTicks = args.length > 1 ? Long.parseLong(args[1])
+				: DEFAULT_MAX_TICKS;
+
+		Core.getLogger().setLevel(Level.WARNING);
+		SoundManager.getInstance().disable();
+		GameClock.startSimulation();
+
+		GameState gameState = new GameState(level, 0, Core.BASE_SHIP, 3, 0, 0,
+				0, "", 0, 0, 0, 0, 0);
+		GameSettings gameSettings = new GameSettings(4, 4, 60, 2500)
+				.LevelSettings(4, 4, 60, 2500, level, Core.getLevelSetting());
+		Wallet wallet = new Wallet(0, 1, 1, 1, 1);
+
+		GameScreen screen = new GameScreen(gameState, gameSettings, false,
+				Core.WIDTH, Core.HEIGHT, Core.FPS, wallet);
+		screen.initialize();
+
+		InputManager input = Core.getInputManager();
+		input.setKeyDown(KeyEvent.VK_SPACE, true);
+
+		long start = System.nanoTime();
+		long ticks = 0;
+		boolean right = true;
+		do {
+			input.setKeyDown(KeyEvent.VK_RIGHT, right);
+			input.setKeyDown(KeyEvent.VK_LEFT, !right);
+			ticks += screen.simulate(Math.min(SWEEP_TICKS, maxTicks - ticks));
+			right = !right;
+		} while (screen.isRunning() && ticks < maxTicks);
+		long elapsed = System.nanoTime() - start;
+
+		gameState = screen.getGameState();
+		System.out.printf("Level %d: %d ticks in %.3f s, %.0f ticks/s%n",
+				level, ticks, elapsed / 1e9,
+				ticks * (double) TimeUnit.SECONDS.toNanos(1) / elapsed);
+		System.out.printf("Score %d, lives %d, ships destroyed %d%n",
+				gameState.getScore(), gameState.getLivesRemaining(),
+				gameState.getShipsDestroyed());
+		System.out.printf("Lap time %d ms, previous score %d, max combo %d%n",
+				gameState.getPrevTime(), gameState.getPrevScore(),
+				gameState.getMaxCombo());
+		BulletStore bullets = screen.getBullets();
+		System.out.printf("Bullets %d reused, %d allocated, %d refused, "
+				+ "peak %d of %d slots, %d left over%n", bullets.getHits(),
+				bullets.getMisses(), bullets.getRejected(),
+				bullets.getPeakSize(), bullets.getCapacity(),
+				bullets.getLeaked());
+		FrameProfiler.report(new OutputStreamWriter(System.out));
+		System.exit(0);
+	}
+}
@@ -0,0 +1,330 @@
+package engine;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.Map;
+
+import entity.Ship;
+import entity.ShipFactory;
+
+/**
+ * Transparent image of the game interface band: lives, level, elapsed time,
+ * score, separation line, alert message and combo. Each part is rendered
+ * again only when its value changes, so drawing the interface is a single
+ * blit of this layer. Texts are written into a reused char buffer instead
+ * of formatted strings and drawn from a glyph atlas.
+ */
+public final class HudLayer {
+
+	/** Height of the interface band, from the top of the screen. */
+	public static final int HEIGHT = 96;
+	/** Baseline of the top row texts. */
+	private static final int TOP_BASELINE = 25;
+	/** Baseline of the alert message. */
+	private static final int ALERT_BASELINE = 65;
+	/** Baseline of the combo counter. */
+	private static final int COMBO_BASELINE = 85;
+	/** Upper side of the life icons. */
+	private static final int LIVES_Y = 10;
+	/** Left side of the first life icon. */
+	private static final int LIVES_X = 40;
+	/** Distance between two life icons. */
+	private static final int LIVES_SPACING = 35;
+	/** Lower side of the top row. */
+	private static final int TOP_ROW_BOTTOM = 38;
+	/** Lower side of the alert row. */
+	private static final int ALERT_ROW_BOTTOM = 70;
+	/** Combo needed before it is shown. */
+	private static final int MIN_COMBO_SHOWN = 2;
+
+	/** Upper side of the separation line. */
+	private final int separationLineY;
+	/** Layer image. */
+	private final BufferedImage image;
+	/** Graphics of the layer image. */
+	private final Graphics2D graphics;
+	/** Composite used to make parts of the layer transparent again. */
+	private final Composite clear;
+	/** Composite used to draw. */
+	private final Composite draw;
+	/** Glyphs of the interface font. */
+	private final GlyphAtlas atlas;
+	/** Backend drawing the life icons. */
+	private final SpriteRenderer spriteRenderer;
+	/** Buffer the texts are written into. */
+	private final char[] text = new char[32];
+	/** Life icon of each ship type. */
+	private final Map<Ship.ShipType, Ship> lifeIcons;
+
+	/** Lives shown, or -1 before the first update. */
+	private int lives = -1;
+	/** Ship type of the life icons shown. */
+	private Ship.ShipType shipType;
+	/** Level shown. */
+	private int level = -1;
+	/** Elapsed time shown, in hundredths of a second. */
+	private int elapsedCentiseconds = -1;
+	/** Score shown. */
+	private int score = -1;
+	/** Alert message shown. */
+	private String alertMessage;
+	/** Combo shown. */
+	private int combo = -1;
+
+	/**
+	 * Constructor, creates an empty layer with the separation line.
+	 *
+	 * @param width
+	 *            Layer width, the screen width.
+	 * @param separationLineY
+	 *            Upper side of the separation line.
+	 * @param atlas
+	 *            Glyphs of the interface font.
+	 * @param spriteRenderer
+	 *            Backend drawing the life icons.
+	 */
+	public HudLayer(final int width, final int separationLineY,
+			final GlyphAtlas atlas, final SpriteRenderer spriteRenderer) {
+		this.image = new BufferedImage(width, HEIGHT,
+				BufferedImage.TYPE_INT_ARGB);
+		this.graphics = this.image.createGraphics();
+		this.clear = AlphaComposite.Clear;
+		this.draw = this.graphics.getComposite();
+		this.atlas = atlas;
+		this.spriteRenderer = spriteRenderer;
+		this.lifeIcons = new EnumMap<Ship.ShipType, Ship>(Ship.ShipType.class);
+		this.separationLineY = separationLineY;
+
+		this.graphics.setColor(Color.GREEN);
+		this.graphics.drawLine(0, separationLineY, width, separationLineY);
+		this.graphics.drawLine(0, separationLineY + 1, width,
+				separationLineY + 1);
+	}
+
+	/**
+	 * Brings the layer up to date, rendering again only the parts whose
+	 * value changed.
+	 *
+	 * @param score
+	 *            Current score.
+	 * @param elapsedTime
+	 *            Elapsed time, in milliseconds.
+	 * @param alertMessage
+	 *            Alert message.
+	 * @param lives
+	 *            Current lives.
+	 * @param shipType
+	 *            Type of the player ship.
+	 * @param level
+	 *            Current level.
+	 * @param combo
+	 *            Number of enemies killed in a row.
+	 */
+	public void update(final int score, final int elapsedTime,
+			final String alertMessage, final int lives,
+			final Ship.ShipType shipType, final int level, final int combo) {
+		int width = this.image.getWidth();
+
+		if (lives != this.lives || shipType != this.shipType) {
+			this.lives = lives;
+			this.shipType = shipType;
+			clear(0, 0, width / 2 - 60, TOP_ROW_BOTTOM);
+			drawText(Color.WHITE, writeInt(0, lives, 1), 20, TOP_BASELINE);
+			Ship icon = lifeIcon(shipType);
+			for (int i = 0; i < lives; i++)
+				this.spriteRenderer.drawSprite(this.image, this.graphics,
+						icon.getSpriteType(), icon.getColor(),
+						LIVES_X + LIVES_SPACING * i, LIVES_Y);
+		}
+
+		if (level != this.level) {
+			this.level = level;
+			clear(width / 2 - 60, 0, 60, TOP_ROW_BOTTOM);
+			int length = writeText(0, "lv.");
+			drawText(Color.WHITE, writeInt(length, level, 1), width / 2 - 60,
+					TOP_BASELINE);
+		}
+
+		int centiseconds = elapsedTime / 10;
+		if (centiseconds != this.elapsedCentiseconds) {
+			this.elapsedCentiseconds = centiseconds;
+			clear(width / 2, 0, width / 2 - 60, TOP_ROW_BOTTOM);
+			drawText(Color.LIGHT_GRAY, writeTime(elapsedTime), width / 2,
+					TOP_BASELINE);
+		}
+
+		if (score != this.score) {
+			this.score = score;
+			clear(width - 60, 0, 60, TOP_ROW_BOTTOM);
+			drawText(Color.WHITE, writeInt(0, score, 4), width - 60,
+					TOP_BASELINE);
+		}
+
+		if (!alertMessage.equals(this.alertMessage)) {
+			this.alertMessage = alertMessage;
+			clear(0, TOP_ROW_BOTTOM + 3, width,
+					ALERT_ROW_BOTTOM - TOP_ROW_BOTTOM - 3);
+			this.atlas.drawString(this.graphics, alertMessage, Color.RED,
+					(width - this.atlas.stringWidth(alertMessage)) / 2,
+					ALERT_BASELINE);
+		}
+
+		int shownCombo = combo >= MIN_COMBO_SHOWN ? combo : 0;
+		if (shownCombo != this.combo) {
+			this.combo = shownCombo;
+			clear(width - 100, ALERT_ROW_BOTTOM, 100,
+					this.image.getHeight() - ALERT_ROW_BOTTOM);
+			if (shownCombo > 0) {
+				int length = writeText(0, "Combo ");
+				drawText(Color.WHITE, writeInt(length, shownCombo, 3),
+						width - 100, COMBO_BASELINE);
+			}
+		}
+	}
+
+	/**
+	 * Getter for the layer image.
+	 *
+	 * @return Transparent image of the interface band.
+	 */
+	public BufferedImage getImage() {
+		return this.image;
+	}
+
+	/**
+	 * Checks if the layer can be used for a screen.
+	 *
+	 * @param width
+	 *            Screen width.
+	 * @param separationLineY
+	 *            Upper side of the separation line.
+	 * @return True if the layer was made for that layout.
+	 */
+	public boolean fits(final int width, final int separationLineY) {
+		return this.image.getWidth() == width
+				&& this.separationLineY == separationLineY;
+	}
+
+	/**
+	 * Makes part of the layer transparent.
+	 *
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @param w
+	 *            Width.
+	 * @param h
+	 *            Height.
+	 */
+	private void clear(final int x, final int y, final int w, final int h) {
+		this.graphics.setComposite(this.clear);
+		this.graphics.fillRect(x, y, w, h);
+		this.graphics.setComposite(this.draw);
+	}
+
+	/**
+	 * Draws the start of the text buffer.
+	 *
+	 * @param color
+	 *            Text color.
+	 * @param length
+	 *            Number of characters to draw.
+	 * @param x
+	 *            Left side of the text.
+	 * @param y
+	 *            Baseline of the text.
+	 */
+	private void drawText(final Color color, final int length, final int x,
+			final int y) {
+		this.atlas.drawChars(this.graphics, this.text, 0, length, color, x, y);
+	}
+
+	/**
+	 * Writes a string into the text buffer.
+	 *
+	 * @param position
+	 *            Index to write at.
+	 * @param string
+	 *            String to write.
+	 * @return Index after the string.
+	 */
+	private int writeText(final int position, final String string) {
+		string.getChars(0, string.length(), this.text, position);
+		return position + string.length();
+	}
+
+	/**
+	 * Writes a non negative number into the text buffer, padded with zeros.
+	 *
+	 * @param position
+	 *            Index to write at.
+	 * @param value
+	 *            Number to write.
+	 * @param minDigits
+	 *            Minimum number of digits.
+	 * @return Index after the number.
+	 */
+	private int writeInt(final int position, final int value,
+			final int minDigits) {
+		int digits = 1;
+		for (int rest = Math.abs(value) / 10; rest > 0; rest /= 10)
+			digits++;
+		digits = Math.max(digits, minDigits);
+
+		int start = position;
+		if (value < 0)
+			this.text[start++] = '-';
+		int rest = Math.abs(value);
+		for (int i = start + digits - 1; i >= start; i--) {
+			this.text[i] = (char) ('0' + rest % 10);
+			rest /= 10;
+		}
+		return start + digits;
+	}
+
+	/**
+	 * Writes an elapsed time as s.cc, or m:ss.cc from one minute on.
+	 *
+	 * @param elapsedTime
+	 *            Elapsed time, in milliseconds.
+	 * @return Length of the text.
+	 */
+	private int writeTime(final int elapsedTime) {
+		int cent = (elapsedTime % 1000) / 10;
+		int seconds = elapsedTime / 1000;
+		int sec = seconds % 60;
+		int min = seconds / 60;
+
+		int length = 0;
+		if (min < 1) {
+			length = writeInt(length, sec, 1);
+		} else {
+			length = writeInt(length, min, 1);
+			this.text[length++] = ':';
+			length = writeInt(length, sec, 2);
+		}
+		this.text[length++] = '.';
+		return writeInt(length, cent, 2);
+	}
+
+	/**
+	 * Returns the life icon of a ship type, creating it once.
+	 *
+	 * @param type
+	 *            Type of the player ship.
+	 * @return Ship used to draw the life icons.
+	 */
+	private Ship lifeIcon(final Ship.ShipType type) {
+		Ship icon = this.lifeIcons.get(type);
+		if (icon == null) {
+			icon = ShipFactory.create(type, 0, 0);
+			this.lifeIcons.put(type, icon);
+		}
+		return icon;
+	}
+}
@@ -47,6 +47,20 @@ public final class InputManager implements KeyListener {
 		return keys[keyCode];
 	}
 
+	/**
+	 * Sets the state of a key without a keyboard event, used to script
+	 * input when running headless.
+	 * 
+	 * @param keyCode
+	 *            Key number to change.
+	 * @param pressed
+	 *            New key state.
+	 */
+	public void setKeyDown(final int keyCode, final boolean pressed) {
+		if (keyCode >= 0 && keyCode < NUM_KEYS)
+			keys[keyCode] = pressed;
+	}
+
 	/**
 	 * Changes the state of the key to pressed.
 	 * 
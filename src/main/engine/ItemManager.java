@@ -6,8 +6,6 @@ import entity.Ship;
 import entity.Barrier;
 
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map.Entry;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Random;
@@ -147,14 +145,13 @@ public class ItemManager {
         int addScore = 0;
         int addShipsDestroyed = 0;
 
-        List<List<EnemyShip>> enemyShips = this.enemyShipFormation.getEnemyShips();
         int maxCnt = -1;
         int maxRow = 0, maxCol = 0;
 
         // Find the 3x3 block with the most undestroyed ships
-        for (int i = 0; i <= enemyShips.size() - 3; i++) {
-            for (int j = 0; j <= enemyShips.get(i).size() - 3; j++) {
-                int currentCnt = countShipsInBlock(enemyShips, i, j);
+        for (int i = 0; i <= this.enemyShipFormation.getColumns() - 3; i++) {
+            for (int j = 0; j <= this.enemyShipFormation.getRows() - 3; j++) {
+                int currentCnt = this.enemyShipFormation.countAlive(i, j, 3, 3);
                 if (currentCnt > maxCnt) {
                     maxCnt = currentCnt;
                     maxRow = i;
@@ -163,45 +160,21 @@ public class ItemManager {
             }
         }
 
-        // Collect and destroy ships in the selected 3x3 block
-        List<EnemyShip> targetEnemyShips = getShipsInBlock(enemyShips, maxRow, maxCol);
-        for (EnemyShip ship : targetEnemyShips) {
-            addScore += ship.getPointValue();
-            addShipsDestroyed++;
-            enemyShipFormation.destroy(ship, balance);
-        }
-
-        return new SimpleEntry<>(addScore, addShipsDestroyed);
-    }
-
-    private int countShipsInBlock(List<List<EnemyShip>> enemyShips, int startRow, int startCol) {
-        int count = 0;
-        for (int i = startRow; i < startRow + 3; i++) {
-            for (int j = startCol; j < startCol + 3; j++) {
-                EnemyShip ship = enemyShips.get(i).get(j);
-                if (ship != null && !ship.isDestroyed()) {
-                    count++;
+        // Destroy ships in the selected 3x3 block
+        for (int i = maxRow; i < Math.min(maxRow + 3, this.enemyShipFormation.getColumns()); i++) {
+            for (int j = maxCol; j < Math.min(maxCol + 3, this.enemyShipFormation.getRows()); j++) {
+                EnemyShip ship = this.enemyShipFormation.getAliveShip(i, j);
+                if (ship != null) {
+                    addScore += ship.getPointValue();
+                    addShipsDestroyed++;
+                    enemyShipFormation.destroy(ship, balance);
                 }
             }
         }
-        return count;
-    }
 
-    private List<EnemyShip> getShipsInBlock(List<List<EnemyShip>> enemyShips, int startRow, int startCol) {
-        List<EnemyShip> ships = new ArrayList<>();
-        for (int i = startRow; i < startRow + 3; i++) {
-            for (int j = startCol; j < startCol + 3; j++) {
-                EnemyShip ship = enemyShips.get(i).get(j);
-                if (ship != null && !ship.isDestroyed()) {
-                    ships.add(ship);
-                }
-            }
-        }
-        return ships;
+        return new SimpleEntry<>(addScore, addShipsDestroyed);
     }
 
-
-
     /**
      * Operate Line-bomb item.
      *
@@ -213,23 +186,15 @@ public class ItemManager {
         int addScore = 0;
         int addShipsDestroyed = 0;
 
-        List<List<EnemyShip>> enemyShips = this.enemyShipFormation.getEnemyShips();
-
-        int destroyRow = -1;
-
-        for (List<EnemyShip> column : enemyShips) {
-            for (int i = 0; i < column.size(); i++) {
-                if (column.get(i) != null && !column.get(i).isDestroyed())
-                    destroyRow = Math.max(destroyRow, i);
-            }
-        }
+        int destroyRow = this.enemyShipFormation.getBottomRow();
 
         if (destroyRow != -1) {
-            for (List<EnemyShip> column : enemyShips) {
-                if (column.get(destroyRow) != null && !column.get(destroyRow).isDestroyed()) {
-                    addScore += column.get(destroyRow).getPointValue();
+            for (int i = 0; i < this.enemyShipFormation.getColumns(); i++) {
+                EnemyShip ship = this.enemyShipFormation.getAliveShip(i, destroyRow);
+                if (ship != null) {
+                    addScore += ship.getPointValue();
                     addShipsDestroyed++;
-                    enemyShipFormation.destroy(column.get(destroyRow), balance);
+                    enemyShipFormation.destroy(ship, balance);
                 }
             }
         }
@@ -0,0 +1,135 @@
+package engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size histogram of durations in nanoseconds. Buckets are log-linear:
+ * each power of two is split in 8 equal parts, so a reported value is at
+ * most 12.5% above the recorded one. Recording never allocates and is safe
+ * from several threads.
+ */
+public final class LatencyHistogram {
+
+	/** Bits of linear resolution inside each power of two. */
+	private static final int SUB_BUCKET_BITS = 3;
+	/** Number of linear buckets inside each power of two. */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	/** Enough buckets for any non negative long. */
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	/** Number of samples per bucket. */
+	private final AtomicLongArray counts;
+	/** Total number of samples. */
+	private final AtomicLong total;
+	/** Largest sample recorded. */
+	private final AtomicLong max;
+
+	/**
+	 * Constructor, creates an empty histogram.
+	 */
+	public LatencyHistogram() {
+		this.counts = new AtomicLongArray(BUCKETS);
+		this.total = new AtomicLong();
+		this.max = new AtomicLong();
+	}
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param nanoseconds
+	 *            Duration to record, negative values count as zero.
+	 */
+	public void record(final long nanoseconds) {
+		long value = Math.max(0, nanoseconds);
+		this.counts.incrementAndGet(bucketOf(value));
+		this.total.incrementAndGet();
+
+		long currentMax = this.max.get();
+		while (value > currentMax
+				&& !this.max.compareAndSet(currentMax, value))
+			currentMax = this.max.get();
+	}
+
+	/**
+	 * Getter for the number of samples.
+	 *
+	 * @return Samples recorded so far.
+	 */
+	public long getCount() {
+		return this.total.get();
+	}
+
+	/**
+	 * Getter for the largest sample.
+	 *
+	 * @return Largest duration recorded, in nanoseconds.
+	 */
+	public long getMax() {
+		return this.max.get();
+	}
+
+	/**
+	 * Returns the value below which the given fraction of samples fall.
+	 *
+	 * @param fraction
+	 *            Fraction between 0 and 1, e.g. 0.99 for p99.
+	 * @return Upper bound of the bucket holding the percentile, in
+	 *         nanoseconds, or 0 when empty.
+	 */
+	public long getPercentile(final double fraction) {
+		long count = this.total.get();
+		if (count == 0)
+			return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(fraction * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += this.counts.get(i);
+			if (seen >= rank)
+				return Math.min(upperBoundOf(i), getMax());
+		}
+		return getMax();
+	}
+
+	/**
+	 * Forgets every sample.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			this.counts.set(i, 0);
+		this.total.set(0);
+		this.max.set(0);
+	}
+
+	/**
+	 * Finds the bucket of a value.
+	 *
+	 * @param value
+	 *            Non negative value.
+	 * @return Bucket index.
+	 */
+	private static int bucketOf(final long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		int shift = magnitude - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS)
+				+ (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Largest value that falls in a bucket.
+	 *
+	 * @param bucket
+	 *            Bucket index.
+	 * @return Inclusive upper bound of the bucket.
+	 */
+	private static long upperBoundOf(final int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+		long lower = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,158 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Software sprite backend. Each sprite is turned once into a table of
+ * horizontal pixel runs at the 2x game scale, which is then filled straight
+ * into the int array of an RGB buffer, skipping the Java2D pipeline. The
+ * clip of the buffer's Graphics is honoured. Buffers that do not store one
+ * int per pixel are handed to Java2D instead.
+ */
+public final class RasterRenderer implements SpriteRenderer {
+
+	/** Screen pixels per sprite pixel. */
+	private static final int SCALE = SpriteCache.SCALE;
+
+	/** Sprite masks the run tables are made from. */
+	private final Map<SpriteType, boolean[][]> spriteMap;
+	/** Java2D backend for buffers this one cannot write. */
+	private final SpriteRenderer fallback;
+	/** Clip bounds of the current draw, one per drawing thread. */
+	private final ThreadLocal<Rectangle> clips = ThreadLocal
+			.withInitial(Rectangle::new);
+	/**
+	 * Runs of each sprite, indexed by ordinal. Every run takes three ints:
+	 * row offset, column offset and length, in screen pixels.
+	 */
+	private volatile int[][] runTables;
+
+	/**
+	 * Constructor, builds the run tables.
+	 *
+	 * @param spriteMap
+	 *            Sprite masks, indexed [x][y].
+	 */
+	public RasterRenderer(final Map<SpriteType, boolean[][]> spriteMap) {
+		this.spriteMap = spriteMap;
+		this.fallback = new SpriteCache(spriteMap);
+		invalidate();
+	}
+
+	/**
+	 * Fills the runs of a sprite in the buffer, clipped to the buffer and
+	 * the clip of its Graphics.
+	 *
+	 * @param target
+	 *            Buffer to draw in.
+	 * @param graphics
+	 *            Graphics of the buffer, for its clip and the fallback.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the sprite.
+	 * @param positionY
+	 *            Coordinates for the upper side of the sprite.
+	 */
+	@Override
+	public void drawSprite(final BufferedImage target, final Graphics graphics,
+			final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		Raster raster = target.getRaster();
+		if (!(raster.getDataBuffer() instanceof DataBufferInt)
+				|| !(raster.getSampleModel() instanceof SinglePixelPackedSampleModel)) {
+			this.fallback.drawSprite(target, graphics, spriteType, color,
+					positionX, positionY);
+			return;
+		}
+
+		int[] pixels = ((DataBufferInt) raster.getDataBuffer()).getData();
+		int stride = ((SinglePixelPackedSampleModel) raster.getSampleModel())
+				.getScanlineStride();
+		Rectangle clip = this.clips.get();
+		clip.setBounds(0, 0, target.getWidth(), target.getHeight());
+		graphics.getClipBounds(clip);
+		int left = Math.max(0, clip.x);
+		int top = Math.max(0, clip.y);
+		int right = Math.min(target.getWidth(), clip.x + clip.width);
+		int bottom = Math.min(target.getHeight(), clip.y + clip.height);
+		int rgb = color.getRGB();
+		int[] runs = this.runTables[spriteType.ordinal()];
+
+		for (int k = 0; k < runs.length; k += 3) {
+			int y = positionY + runs[k];
+			if (y < top || y >= bottom)
+				continue;
+			int start = positionX + runs[k + 1];
+			int end = start + runs[k + 2];
+			if (start < left)
+				start = left;
+			if (end > right)
+				end = right;
+			int row = y * stride;
+			for (int i = row + start; i < row + end; i++)
+				pixels[i] = rgb;
+		}
+	}
+
+	/**
+	 * Rebuilds the run tables from the sprite masks.
+	 */
+	@Override
+	public synchronized void invalidate() {
+		SpriteType[] types = SpriteType.values();
+		int[][] tables = new int[types.length][];
+		for (SpriteType type : types)
+			tables[type.ordinal()] = buildRuns(this.spriteMap.get(type));
+		this.runTables = tables;
+		this.fallback.invalidate();
+	}
+
+	/**
+	 * Converts a sprite mask to scaled horizontal runs.
+	 *
+	 * @param mask
+	 *            Sprite mask, indexed [x][y], may be null.
+	 * @return Runs as triples of row offset, column offset and length.
+	 */
+	private static int[] buildRuns(final boolean[][] mask) {
+		if (mask == null || mask.length == 0)
+			return new int[0];
+
+		int columns = mask.length;
+		int rows = mask[0].length;
+		int[] runs = new int[columns * rows * SCALE * 3];
+		int size = 0;
+		for (int j = 0; j < rows; j++) {
+			int i = 0;
+			while (i < columns) {
+				if (!mask[i][j]) {
+					i++;
+					continue;
+				}
+				int start = i;
+				while (i < columns && mask[i][j])
+					i++;
+				for (int s = 0; s < SCALE; s++) {
+					runs[size++] = j * SCALE + s;
+					runs[size++] = start * SCALE;
+					runs[size++] = (i - start) * SCALE;
+				}
+			}
+		}
+		int[] trimmed = new int[size];
+		System.arraycopy(runs, 0, trimmed, 0, size);
+		return trimmed;
+	}
+}
@@ -0,0 +1,448 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.Collection;
+
+import engine.DrawManager.SpriteType;
+import entity.BulletStore;
+import entity.Entity;
+import entity.Ship;
+import screen.Screen;
+
+/**
+ * Draw operations of one game frame, recorded by the simulation and replayed
+ * later on the {@link DrawManager}, possibly by another thread. Every value
+ * is copied when it is recorded, so the game state can change while the
+ * frame is drawn. Operations are stored as an opcode plus int operands and
+ * object operands in arrays that only grow, so recording a steady frame
+ * does not allocate.
+ */
+public final class RenderCommands {
+
+	/** Initial capacity of the opcode list. */
+	private static final int INITIAL_CAPACITY = 512;
+
+	/** Starts retained drawing. No operands. */
+	private static final int INIT_RETAINED = 0;
+	/** Draws a sprite. Ints x, y; objects sprite type, color. */
+	private static final int SPRITE = 1;
+	/** Marks an area dirty. Ints x, y, width, height. */
+	private static final int MARK_DIRTY = 2;
+	/** Ends retained drawing. Int full redraw flag. */
+	private static final int RESOLVE_RETAINED = 3;
+	/**
+	 * Draws the interface. Ints separation line, score, elapsed time, lives,
+	 * level, combo; objects alert message, ship type.
+	 */
+	private static final int INTERFACE = 4;
+	/** Draws the reload timer. Ints ship x, ship y, ship width, time left. */
+	private static final int RELOAD_TIMER = 5;
+	/** Draws the countdown. Ints level, number, bonus life flag. */
+	private static final int COUNTDOWN = 6;
+	/** Draws a horizontal line. Int y. */
+	private static final int HORIZONTAL_LINE = 7;
+	/**
+	 * Draws the intermediate aggregation. Ints level, max combo, elapsed
+	 * time, lap time, score, temporary score.
+	 */
+	private static final int INTERMEDIATE_AGGREGATION = 8;
+	/** Presents the frame. No operands. */
+	private static final int COMPLETE = 9;
+
+	/** Opcode of each operation. */
+	private int[] codes = new int[INITIAL_CAPACITY];
+	/** Int operands, in operation order. */
+	private int[] ints = new int[INITIAL_CAPACITY * 4];
+	/** Object operands, in operation order. */
+	private Object[] objects = new Object[INITIAL_CAPACITY * 2];
+	/** Number of operations. */
+	private int size;
+	/** Number of int operands. */
+	private int intCount;
+	/** Number of object operands. */
+	private int objectCount;
+
+	/**
+	 * Removes every operation.
+	 */
+	public void clear() {
+		Arrays.fill(this.objects, 0, this.objectCount, null);
+		this.size = 0;
+		this.intCount = 0;
+		this.objectCount = 0;
+	}
+
+	/**
+	 * Getter for the number of operations.
+	 *
+	 * @return Number of recorded operations.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Records {@link DrawManager#initRetainedDrawing(Screen)}.
+	 */
+	public void initRetainedDrawing() {
+		code(INIT_RETAINED);
+	}
+
+	/**
+	 * Records an entity at its current sprite, color and position.
+	 *
+	 * @param entity
+	 *            Entity to draw.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
+	public void drawEntity(final Entity entity, final int positionX,
+			final int positionY) {
+		drawSprite(entity.getSpriteType(), entity.getColor(), positionX,
+				positionY);
+	}
+
+	/**
+	 * Records every entity of a collection.
+	 *
+	 * @param entities
+	 *            Entities to draw.
+	 */
+	public void drawEntities(final Collection<? extends Entity> entities) {
+		for (Entity entity : entities)
+			drawEntity(entity, entity.getPositionX(), entity.getPositionY());
+	}
+
+	/**
+	 * Records every bullet of a store.
+	 *
+	 * @param bullets
+	 *            Bullets to draw.
+	 */
+	public void drawBullets(final BulletStore bullets) {
+		for (int i = 0; i < bullets.size(); i++)
+			drawSprite(bullets.getSpriteType(i), BulletStore.COLOR,
+					bullets.getPositionX(i), bullets.getPositionY(i));
+	}
+
+	/**
+	 * Records {@link DrawManager#drawSprite(SpriteType, Color, int, int)}.
+	 *
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the image.
+	 * @param positionY
+	 *            Coordinates for the upper side of the image.
+	 */
+	public void drawSprite(final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		code(SPRITE);
+		ints(positionX, positionY);
+		objects(spriteType, color);
+	}
+
+	/**
+	 * Records {@link DrawManager#markDirty(int, int, int, int)}.
+	 *
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @param width
+	 *            Width.
+	 * @param height
+	 *            Height.
+	 */
+	public void markDirty(final int x, final int y, final int width,
+			final int height) {
+		code(MARK_DIRTY);
+		ints(x, y, width, height);
+	}
+
+	/**
+	 * Records {@link DrawManager#resolveRetainedDrawing(Screen, boolean)}.
+	 *
+	 * @param fullRedraw
+	 *            If the whole screen must be drawn again.
+	 */
+	public void resolveRetainedDrawing(final boolean fullRedraw) {
+		code(RESOLVE_RETAINED);
+		ints(fullRedraw ? 1 : 0);
+	}
+
+	/**
+	 * Records the interface, see {@link DrawManager#drawInterface}.
+	 *
+	 * @param separationLineY
+	 *            Upper side of the separation line.
+	 * @param score
+	 *            Current score.
+	 * @param elapsedTime
+	 *            Elapsed time, in milliseconds.
+	 * @param alertMessage
+	 *            Alert message.
+	 * @param lives
+	 *            Current lives.
+	 * @param shipType
+	 *            Type of the player ship.
+	 * @param level
+	 *            Current level.
+	 * @param combo
+	 *            Number of enemies killed in a row.
+	 */
+	public void drawInterface(final int separationLineY, final int score,
+			final int elapsedTime, final String alertMessage, final int lives,
+			final Ship.ShipType shipType, final int level, final int combo) {
+		code(INTERFACE);
+		ints(separationLineY, score, elapsedTime, lives);
+		ints(level, combo);
+		objects(alertMessage, shipType);
+	}
+
+	/**
+	 * Records the reload timer of a ship at its current position.
+	 *
+	 * @param ship
+	 *            Player's ship.
+	 * @param remainingTime
+	 *            Remaining reload time.
+	 */
+	public void drawReloadTimer(final Ship ship, final long remainingTime) {
+		code(RELOAD_TIMER);
+		ints(ship.getPositionX(), ship.getPositionY(), ship.getWidth(),
+				(int) remainingTime);
+	}
+
+	/**
+	 * Records {@link DrawManager#drawCountDown(Screen, int, int, boolean)}.
+	 *
+	 * @param level
+	 *            Game difficulty level.
+	 * @param number
+	 *            Countdown number.
+	 * @param bonusLife
+	 *            Checks if a bonus life is received.
+	 */
+	public void drawCountDown(final int level, final int number,
+			final boolean bonusLife) {
+		code(COUNTDOWN);
+		ints(level, number, bonusLife ? 1 : 0);
+	}
+
+	/**
+	 * Records {@link DrawManager#drawHorizontalLine(Screen, int)}.
+	 *
+	 * @param positionY
+	 *            Y coordinate of the line.
+	 */
+	public void drawHorizontalLine(final int positionY) {
+		code(HORIZONTAL_LINE);
+		ints(positionY);
+	}
+
+	/**
+	 * Records the intermediate aggregation, see
+	 * {@link DrawManager#interAggre(Screen, int, int, int, int, int, int)}.
+	 *
+	 * @param level
+	 *            Level just finished.
+	 * @param maxCombo
+	 *            Value of maxCombo.
+	 * @param elapsedTime
+	 *            Value of elapsedTime.
+	 * @param lapTime
+	 *            Value of lapTime.
+	 * @param score
+	 *            Value of score.
+	 * @param tempScore
+	 *            Value of tempScore.
+	 */
+	public void interAggre(final int level, final int maxCombo,
+			final int elapsedTime, final int lapTime, final int score,
+			final int tempScore) {
+		code(INTERMEDIATE_AGGREGATION);
+		ints(level, maxCombo, elapsedTime, lapTime);
+		ints(score, tempScore);
+	}
+
+	/**
+	 * Records {@link DrawManager#completeDrawing(Screen)}.
+	 */
+	public void completeDrawing() {
+		code(COMPLETE);
+	}
+
+	/**
+	 * Performs every recorded operation, in order.
+	 *
+	 * @param drawManager
+	 *            Draw manager to draw with.
+	 * @param screen
+	 *            Screen the frame belongs to.
+	 */
+	public void replay(final DrawManager drawManager, final Screen screen) {
+		int i = 0;
+		int o = 0;
+		for (int k = 0; k < this.size; k++) {
+			int[] in = this.ints;
+			Object[] ob = this.objects;
+			switch (this.codes[k]) {
+			case INIT_RETAINED:
+				drawManager.initRetainedDrawing(screen);
+				break;
+			case SPRITE:
+				drawManager.drawSprite((SpriteType) ob[o], (Color) ob[o + 1],
+						in[i], in[i + 1]);
+				i += 2;
+				o += 2;
+				break;
+			case MARK_DIRTY:
+				drawManager.markDirty(in[i], in[i + 1], in[i + 2], in[i + 3]);
+				i += 4;
+				break;
+			case RESOLVE_RETAINED:
+				drawManager.resolveRetainedDrawing(screen, in[i] != 0);
+				i += 1;
+				break;
+			case INTERFACE:
+				drawManager.drawInterface(screen, in[i], in[i + 1], in[i + 2],
+						(String) ob[o], in[i + 3], (Ship.ShipType) ob[o + 1],
+						in[i + 4], in[i + 5]);
+				i += 6;
+				o += 2;
+				break;
+			case RELOAD_TIMER:
+				drawManager.drawReloadTimer(in[i], in[i + 1], in[i + 2],
+						in[i + 3]);
+				i += 4;
+				break;
+			case COUNTDOWN:
+				drawManager.drawCountDown(screen, in[i], in[i + 1],
+						in[i + 2] != 0);
+				i += 3;
+				break;
+			case HORIZONTAL_LINE:
+				drawManager.drawHorizontalLine(screen, in[i]);
+				i += 1;
+				break;
+			case INTERMEDIATE_AGGREGATION:
+				drawManager.interAggre(screen, in[i], in[i + 1], in[i + 2],
+						in[i + 3], in[i + 4], in[i + 5]);
+				i += 6;
+				break;
+			case COMPLETE:
+				drawManager.completeDrawing(screen);
+				break;
+			default:
+				throw new IllegalStateException("Unknown draw operation "
+						+ this.codes[k]);
+			}
+		}
+	}
+
+	/**
+	 * Appends an opcode.
+	 *
+	 * @param code
+	 *            Operation.
+	 */
+	private void code(final int code) {
+		if (this.size == this.codes.length)
+			this.codes = Arrays.copyOf(this.codes, this.size * 2);
+		this.codes[this.size++] = code;
+	}
+
+	/**
+	 * Appends an int operand.
+	 *
+	 * @param a
+	 *            Operand.
+	 */
+	private void ints(final int a) {
+		ensureInts(1);
+		this.ints[this.intCount++] = a;
+	}
+
+	/**
+	 * Appends two int operands.
+	 *
+	 * @param a
+	 *            First operand.
+	 * @param b
+	 *            Second operand.
+	 */
+	private void ints(final int a, final int b) {
+		ensureInts(2);
+		this.ints[this.intCount++] = a;
+		this.ints[this.intCount++] = b;
+	}
+
+	/**
+	 * Appends three int operands.
+	 *
+	 * @param a
+	 *            First operand.
+	 * @param b
+	 *            Second operand.
+	 * @param c
+	 *            Third operand.
+	 */
+	private void ints(final int a, final int b, final int c) {
+		ensureInts(3);
+		this.ints[this.intCount++] = a;
+		this.ints[this.intCount++] = b;
+		this.ints[this.intCount++] = c;
+	}
+
+	/**
+	 * Appends four int operands.
+	 *
+	 * @param a
+	 *            First operand.
+	 * @param b
+	 *            Second operand.
+	 * @param c
+	 *            Third operand.
+	 * @param d
+	 *            Fourth operand.
+	 */
+	private void ints(final int a, final int b, final int c, final int d) {
+		ensureInts(4);
+		this.ints[this.intCount++] = a;
+		this.ints[this.intCount++] = b;
+		this.ints[this.intCount++] = c;
+		this.ints[this.intCount++] = d;
+	}
+
+	/**
+	 * Appends two object operands.
+	 *
+	 * @param a
+	 *            First operand.
+	 * @param b
+	 *            Second operand.
+	 */
+	private void objects(final Object a, final Object b) {
+		if (this.objectCount + 2 > this.objects.length)
+			this.objects = Arrays.copyOf(this.objects, this.objects.length * 2);
+		this.objects[this.objectCount++] = a;
+		this.objects[this.objectCount++] = b;
+	}
+
+	/**
+	 * Makes room for int operands.
+	 *
+	 * @param count
+	 *            Number of operands about to be appended.
+	 */
+	private void ensureInts(final int count) {
+		if (this.intCount + count > this.ints.length)
+			this.ints = Arrays.copyOf(this.ints, this.ints.length * 2);
+	}
+}
@@ -0,0 +1,138 @@
+package engine;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import screen.Screen;
+
+/**
+ * Draws the frames of a screen on a thread of its own. The simulation
+ * records a frame into one of two {@link RenderCommands} and submits it;
+ * the render thread replays it while the simulation records the next one
+ * into the other. A submit waits only if the previous frame is still being
+ * drawn, so at most one frame is in flight and nothing is allocated per
+ * frame.
+ */
+public final class RenderThread implements Runnable {
+
+	/** Draw manager the frames are replayed on. */
+	private final DrawManager drawManager;
+	/** Screen the frames belong to. */
+	private final Screen screen;
+	/** Application logger. */
+	private final Logger logger;
+	/** The two command buffers. */
+	private final RenderCommands[] buffers = { new RenderCommands(),
+			new RenderCommands() };
+	/** Index of the buffer the simulation records into. */
+	private int recording;
+	/** Frame waiting to be drawn, guarded by this. */
+	private RenderCommands pending;
+	/** If a frame is being drawn, guarded by this. */
+	private boolean drawing;
+	/** If the thread should stop once idle, guarded by this. */
+	private boolean stopping;
+	/** Thread drawing the frames. */
+	private Thread thread;
+
+	/**
+	 * Constructor, the thread is started by {@link #start()}.
+	 *
+	 * @param drawManager
+	 *            Draw manager the frames are replayed on.
+	 * @param screen
+	 *            Screen the frames belong to.
+	 */
+	public RenderThread(final DrawManager drawManager, final Screen screen) {
+		this.drawManager = drawManager;
+		this.screen = screen;
+		this.logger = Core.getLogger();
+	}
+
+	/**
+	 * Starts the render thread.
+	 */
+	public void start() {
+		this.thread = new Thread(this, "Render");
+		this.thread.setDaemon(true);
+		this.thread.start();
+	}
+
+	/**
+	 * Returns the empty buffer the next frame is recorded into. Simulation
+	 * side.
+	 *
+	 * @return Command buffer owned by the simulation until submitted.
+	 */
+	public RenderCommands getCommands() {
+		return this.buffers[this.recording];
+	}
+
+	/**
+	 * Hands the recorded frame to the render thread, waiting for the
+	 * previous frame to be drawn first. Simulation side.
+	 *
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public synchronized void submit() throws InterruptedException {
+		while (this.pending != null || this.drawing)
+			wait();
+		this.pending = this.buffers[this.recording];
+		this.recording ^= 1;
+		this.buffers[this.recording].clear();
+		notifyAll();
+	}
+
+	/**
+	 * Waits for every submitted frame to be drawn, then stops the thread.
+	 * Simulation side.
+	 *
+	 * @throws InterruptedException
+	 *             If interrupted while waiting.
+	 */
+	public void shutdown() throws InterruptedException {
+		synchronized (this) {
+			this.stopping = true;
+			notifyAll();
+		}
+		if (this.thread != null)
+			this.thread.join();
+	}
+
+	/**
+	 * Draws submitted frames until stopped.
+	 */
+	@Override
+	public void run() {
+		while (true) {
+			RenderCommands frame;
+			synchronized (this) {
+				while (this.pending == null && !this.stopping)
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						return;
+					}
+				if (this.pending == null)
+					return;
+				frame = this.pending;
+				this.pending = null;
+				this.drawing = true;
+			}
+
+			long phaseStart = FrameProfiler.start();
+			try {
+				frame.replay(this.drawManager, this.screen);
+				FrameProfiler.end(FrameProfiler.Phase.RENDER, phaseStart);
+			} catch (RuntimeException e) {
+				this.logger.log(Level.WARNING, "Frame could not be drawn.", e);
+			} finally {
+				synchronized (this) {
+					this.drawing = false;
+					notifyAll();
+				}
+			}
+		}
+	}
+}
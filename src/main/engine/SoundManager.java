@@ -347,6 +347,12 @@ public class SoundManager {
         clip.loop(Clip.LOOP_CONTINUOUSLY);
     }
 
+    /** Close all sound files and ignore further requests, for headless runs **/
+    public void disable() {
+        closeAllSounds();
+        soundEnabled = false;
+    }
+
     /** Stop and close all sound files **/
     public void closeAllSounds() {
         if (!soundEnabled) return;
@@ -0,0 +1,230 @@
+package engine;
+
+import java.util.Arrays;
+
+import entity.Entity;
+
+/**
+ * Uniform grid of screen cells used as collision broadphase. Entities are
+ * inserted with a kind chosen by the caller and the grid is built once per
+ * tick; a query then returns only the entities in the cells a box touches,
+ * each once, to be confirmed by the exact collision test. Every array is
+ * reused between ticks, so nothing is allocated once the grid has grown to
+ * the number of entities on screen.
+ */
+public final class SpatialGrid {
+
+	/** Side of a cell, the distance between two formation ships. */
+	public static final int CELL_SIZE = 40;
+
+	/** Cells in a row. */
+	private final int columns;
+	/** Cells in a column. */
+	private final int rows;
+	/** First entry of each cell in cellEntries, plus the end of the last. */
+	private final int[] cellStart;
+	/** Next free slot of each cell while building. */
+	private final int[] cellCursors;
+	/** Entries sorted by cell, an entry appears in every cell it touches. */
+	private int[] cellEntries = new int[0];
+
+	/** Entity of each entry. */
+	private Entity[] entities = new Entity[16];
+	/** Kind of each entry, given by the caller. */
+	private int[] kinds = new int[16];
+	/** First column touched by each entry. */
+	private int[] minColumns = new int[16];
+	/** Last column touched by each entry. */
+	private int[] maxColumns = new int[16];
+	/** First row touched by each entry. */
+	private int[] minRows = new int[16];
+	/** Last row touched by each entry. */
+	private int[] maxRows = new int[16];
+	/** Last query that returned each entry. */
+	private int[] stamps = new int[16];
+	/** Number of entries. */
+	private int size;
+
+	/** Entries returned by the last query. */
+	private int[] results = new int[16];
+	/** Number of the last query. */
+	private int stamp;
+
+	/**
+	 * Constructor, covers a screen.
+	 *
+	 * @param width
+	 *            Screen width.
+	 * @param height
+	 *            Screen height.
+	 */
+	public SpatialGrid(final int width, final int height) {
+		this.columns = Math.max(1, (width + CELL_SIZE - 1) / CELL_SIZE);
+		this.rows = Math.max(1, (height + CELL_SIZE - 1) / CELL_SIZE);
+		this.cellStart = new int[this.columns * this.rows + 1];
+		this.cellCursors = new int[this.columns * this.rows];
+	}
+
+	/**
+	 * Removes every entry, to insert the entities of a new tick.
+	 */
+	public void clear() {
+		Arrays.fill(this.entities, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Inserts an entity, the grid has to be built before it is queried.
+	 * Entities outside the screen are kept in the border cells.
+	 *
+	 * @param entity
+	 *            Entity to insert.
+	 * @param kind
+	 *            Kind of the entity, returned by {@link #getKind(int)}.
+	 */
+	public void insert(final Entity entity, final int kind) {
+		if (this.size == this.entities.length)
+			grow();
+		int i = this.size++;
+		this.entities[i] = entity;
+		this.kinds[i] = kind;
+		this.minColumns[i] = column(entity.getPositionX());
+		this.maxColumns[i] = column(entity.getPositionX() + entity.getWidth());
+		this.minRows[i] = row(entity.getPositionY());
+		this.maxRows[i] = row(entity.getPositionY() + entity.getHeight());
+	}
+
+	/**
+	 * Sorts the inserted entries by cell.
+	 */
+	public void build() {
+		int[] cellStart = this.cellStart;
+		Arrays.fill(cellStart, 0);
+		int total = 0;
+		for (int i = 0; i < this.size; i++)
+			for (int r = this.minRows[i]; r <= this.maxRows[i]; r++)
+				for (int c = this.minColumns[i]; c <= this.maxColumns[i]; c++) {
+					cellStart[r * this.columns + c + 1]++;
+					total++;
+				}
+		for (int cell = 1; cell < cellStart.length; cell++)
+			cellStart[cell] += cellStart[cell - 1];
+
+		if (this.cellEntries.length < total)
+			this.cellEntries = new int[Math.max(total,
+					this.cellEntries.length * 2)];
+		System.arraycopy(cellStart, 0, this.cellCursors, 0,
+				this.cellCursors.length);
+		for (int i = 0; i < this.size; i++)
+			for (int r = this.minRows[i]; r <= this.maxRows[i]; r++)
+				for (int c = this.minColumns[i]; c <= this.maxColumns[i]; c++)
+					this.cellEntries[this.cellCursors[r * this.columns + c]++] = i;
+	}
+
+	/**
+	 * Finds the entries in the cells touched by a box, each once.
+	 *
+	 * @param x
+	 *            Left side of the box.
+	 * @param y
+	 *            Upper side of the box.
+	 * @param width
+	 *            Width of the box.
+	 * @param height
+	 *            Height of the box.
+	 * @return Number of entries found, read with {@link #getResult(int)}.
+	 */
+	public int query(final int x, final int y, final int width,
+			final int height) {
+		if (++this.stamp == 0) {
+			Arrays.fill(this.stamps, 0);
+			this.stamp = 1;
+		}
+		int count = 0;
+		int maxRow = row(y + height);
+		int minColumn = column(x);
+		int maxColumn = column(x + width);
+		for (int r = row(y); r <= maxRow; r++)
+			for (int c = minColumn; c <= maxColumn; c++) {
+				int cell = r * this.columns + c;
+				for (int k = this.cellStart[cell]; k < this.cellStart[cell + 1]; k++) {
+					int i = this.cellEntries[k];
+					if (this.stamps[i] != this.stamp) {
+						this.stamps[i] = this.stamp;
+						this.results[count++] = i;
+					}
+				}
+			}
+		return count;
+	}
+
+	/**
+	 * Getter for an entry found by the last query.
+	 *
+	 * @param n
+	 *            Index of the result, below the count returned by the query.
+	 * @return Entry.
+	 */
+	public int getResult(final int n) {
+		return this.results[n];
+	}
+
+	/**
+	 * Getter for the entity of an entry.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @return Entity inserted.
+	 */
+	public Entity getEntity(final int entry) {
+		return this.entities[entry];
+	}
+
+	/**
+	 * Getter for the kind of an entry.
+	 *
+	 * @param entry
+	 *            Entry.
+	 * @return Kind given when inserted.
+	 */
+	public int getKind(final int entry) {
+		return this.kinds[entry];
+	}
+
+	/**
+	 * Returns the column of a position, clamped to the grid.
+	 *
+	 * @param x
+	 *            Position in the X axis.
+	 * @return Column.
+	 */
+	private int column(final int x) {
+		return Math.max(0, Math.min(this.columns - 1, x / CELL_SIZE));
+	}
+
+	/**
+	 * Returns the row of a position, clamped to the grid.
+	 *
+	 * @param y
+	 *            Position in the Y axis.
+	 * @return Row.
+	 */
+	private int row(final int y) {
+		return Math.max(0, Math.min(this.rows - 1, y / CELL_SIZE));
+	}
+
+	/**
+	 * Doubles the entry arrays.
+	 */
+	private void grow() {
+		int capacity = this.entities.length * 2;
+		this.entities = Arrays.copyOf(this.entities, capacity);
+		this.kinds = Arrays.copyOf(this.kinds, capacity);
+		this.minColumns = Arrays.copyOf(this.minColumns, capacity);
+		this.maxColumns = Arrays.copyOf(this.maxColumns, capacity);
+		this.minRows = Arrays.copyOf(this.minRows, capacity);
+		this.maxRows = Arrays.copyOf(this.maxRows, capacity);
+		this.stamps = Arrays.copyOf(this.stamps, capacity);
+		this.results = Arrays.copyOf(this.results, capacity);
+	}
+}
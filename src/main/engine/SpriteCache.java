@@ -0,0 +1,201 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Keeps every sprite rasterized once per color into a transparent image at
+ * the 2x scale the game is drawn at, so drawing a sprite is a single image
+ * blit. A color that was never seen, such as the gray of a ghost ship, is
+ * rasterized on first use; lookups never allocate and may run on several
+ * threads at once.
+ */
+public final class SpriteCache implements SpriteRenderer {
+
+	/** Screen pixels per sprite pixel. */
+	public static final int SCALE = 2;
+	/** Colors kept per sprite before its entries are dropped. */
+	private static final int MAX_COLORS = 16;
+
+	/**
+	 * Rasterized images of a single sprite, one per color. Never modified
+	 * once published.
+	 */
+	private static final class Entry {
+		/** ARGB value of each color. */
+		private final int[] colors;
+		/** Image for each color. */
+		private final BufferedImage[] images;
+
+		/**
+		 * Constructor, establishes the entry contents.
+		 *
+		 * @param colors
+		 *            ARGB value of each color.
+		 * @param images
+		 *            Image for each color.
+		 */
+		private Entry(final int[] colors, final BufferedImage[] images) {
+			this.colors = colors;
+			this.images = images;
+		}
+	}
+
+	/** Empty entry, shared by sprites not drawn yet. */
+	private static final Entry EMPTY = new Entry(new int[0],
+			new BufferedImage[0]);
+
+	/** Sprite masks the images are made from. */
+	private final Map<SpriteType, boolean[][]> spriteMap;
+	/** Published entries, indexed by sprite type ordinal. */
+	private volatile Entry[] entries;
+
+	/**
+	 * Constructor, starts with an empty cache.
+	 *
+	 * @param spriteMap
+	 *            Sprite masks, indexed [x][y].
+	 */
+	public SpriteCache(final Map<SpriteType, boolean[][]> spriteMap) {
+		this.spriteMap = spriteMap;
+		invalidate();
+	}
+
+	/**
+	 * Returns the image of a sprite in a color, rasterizing it if needed.
+	 *
+	 * @param spriteType
+	 *            Sprite to look up.
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return Transparent image of the sprite at {@link #SCALE}.
+	 */
+	public BufferedImage get(final SpriteType spriteType, final Color color) {
+		int rgb = color.getRGB();
+		Entry entry = this.entries[spriteType.ordinal()];
+		for (int i = 0; i < entry.colors.length; i++)
+			if (entry.colors[i] == rgb)
+				return entry.images[i];
+		return add(spriteType, color);
+	}
+
+	/**
+	 * Draws a sprite with a single image blit.
+	 *
+	 * @param target
+	 *            Buffer to draw in.
+	 * @param graphics
+	 *            Graphics of the buffer.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the sprite.
+	 * @param positionY
+	 *            Coordinates for the upper side of the sprite.
+	 */
+	@Override
+	public void drawSprite(final BufferedImage target, final Graphics graphics,
+			final SpriteType spriteType, final Color color,
+			final int positionX, final int positionY) {
+		graphics.drawImage(get(spriteType, color), positionX, positionY, null);
+	}
+
+	/**
+	 * Drops every image, e.g. after the sprites are reloaded.
+	 */
+	@Override
+	public synchronized void invalidate() {
+		Entry[] empty = new Entry[SpriteType.values().length];
+		Arrays.fill(empty, EMPTY);
+		this.entries = empty;
+	}
+
+	/**
+	 * Rasterizes a sprite in a new color and publishes it.
+	 *
+	 * @param spriteType
+	 *            Sprite to rasterize.
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return The new image.
+	 */
+	private synchronized BufferedImage add(final SpriteType spriteType,
+			final Color color) {
+		int rgb = color.getRGB();
+		int index = spriteType.ordinal();
+		Entry entry = this.entries[index];
+		for (int i = 0; i < entry.colors.length; i++)
+			if (entry.colors[i] == rgb)
+				return entry.images[i];
+		if (entry.colors.length >= MAX_COLORS)
+			entry = EMPTY;
+
+		int size = entry.colors.length;
+		int[] colors = Arrays.copyOf(entry.colors, size + 1);
+		BufferedImage[] images = Arrays.copyOf(entry.images,
+				size + 1);
+		colors[size] = rgb;
+		images[size] = rasterize(this.spriteMap.get(spriteType), color);
+
+		Entry[] published = this.entries.clone();
+		published[index] = new Entry(colors, images);
+		this.entries = published;
+		return images[size];
+	}
+
+	/**
+	 * Draws a sprite mask into a new transparent image.
+	 *
+	 * @param mask
+	 *            Sprite mask, indexed [x][y].
+	 * @param color
+	 *            Color of the lit pixels.
+	 * @return Image of the sprite at {@link #SCALE}.
+	 */
+	private static BufferedImage rasterize(final boolean[][] mask,
+			final Color color) {
+		int width = Math.max(1, mask.length * SCALE);
+		int height = Math.max(1, (mask.length == 0 ? 0 : mask[0].length) * SCALE);
+		BufferedImage image = createImage(width, height);
+
+		Graphics2D graphics = image.createGraphics();
+		graphics.setColor(color);
+		for (int i = 0; i < mask.length; i++)
+			for (int j = 0; j < mask[i].length; j++)
+				if (mask[i][j])
+					graphics.fillRect(i * SCALE, j * SCALE, SCALE, SCALE);
+		graphics.dispose();
+		return image;
+	}
+
+	/**
+	 * Creates a transparent image suited to the screen, or a plain ARGB one
+	 * when there is no screen.
+	 *
+	 * @param width
+	 *            Image width.
+	 * @param height
+	 *            Image height.
+	 * @return Fully transparent image.
+	 */
+	static BufferedImage createImage(final int width, final int height) {
+		if (GraphicsEnvironment.isHeadless())
+			return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		GraphicsConfiguration configuration = GraphicsEnvironment
+				.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+				.getDefaultConfiguration();
+		return configuration.createCompatibleImage(width, height,
+				Transparency.BITMASK);
+	}
+}
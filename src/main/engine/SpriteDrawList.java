@@ -0,0 +1,260 @@
+package engine;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Sprites drawn during one frame, in drawing order. Two lists are enough to
+ * find what changed between frames: {@link #diff(SpriteDrawList, DirtyRegion)}
+ * matches identical sprites regardless of order and marks the bounds of the
+ * rest as dirty. Arrays only grow, so a steady frame does not allocate.
+ */
+public final class SpriteDrawList {
+
+	/** Initial capacity of the lists. */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/** Sprite type of each entry. */
+	private SpriteType[] types = new SpriteType[INITIAL_CAPACITY];
+	/** Color of each entry. */
+	private Color[] colors = new Color[INITIAL_CAPACITY];
+	/** Left side of each entry. */
+	private int[] xs = new int[INITIAL_CAPACITY];
+	/** Upper side of each entry. */
+	private int[] ys = new int[INITIAL_CAPACITY];
+	/** Width of each entry. */
+	private int[] widths = new int[INITIAL_CAPACITY];
+	/** Height of each entry. */
+	private int[] heights = new int[INITIAL_CAPACITY];
+	/** Number of entries. */
+	private int size;
+
+	/** Open addressing table of entry indexes plus one, used by diff. */
+	private int[] table = new int[INITIAL_CAPACITY * 2];
+	/** Entries already matched during a diff. */
+	private boolean[] matched = new boolean[INITIAL_CAPACITY];
+
+	/**
+	 * Removes every entry.
+	 */
+	public void clear() {
+		Arrays.fill(this.types, 0, this.size, null);
+		Arrays.fill(this.colors, 0, this.size, null);
+		this.size = 0;
+	}
+
+	/**
+	 * Appends a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite drawn.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @param width
+	 *            Width on screen.
+	 * @param height
+	 *            Height on screen.
+	 */
+	public void add(final SpriteType spriteType, final Color color,
+			final int x, final int y, final int width, final int height) {
+		if (this.size == this.types.length)
+			grow();
+		this.types[this.size] = spriteType;
+		this.colors[this.size] = color;
+		this.xs[this.size] = x;
+		this.ys[this.size] = y;
+		this.widths[this.size] = width;
+		this.heights[this.size] = height;
+		this.size++;
+	}
+
+	/**
+	 * Marks the bounds of every sprite that is in only one of the lists.
+	 * Identical sprites, same type, color and position, cancel out.
+	 *
+	 * @param previous
+	 *            Sprites of the previous frame.
+	 * @param dirty
+	 *            Region receiving the changed bounds.
+	 */
+	public void diff(final SpriteDrawList previous, final DirtyRegion dirty) {
+		previous.buildTable();
+		for (int i = 0; i < this.size; i++)
+			if (!previous.match(this.types[i], this.colors[i].getRGB(),
+					this.xs[i], this.ys[i]))
+				dirty.add(this.xs[i], this.ys[i], this.widths[i],
+						this.heights[i]);
+		for (int i = 0; i < previous.size; i++)
+			if (!previous.matched[i])
+				dirty.add(previous.xs[i], previous.ys[i], previous.widths[i],
+						previous.heights[i]);
+	}
+
+	/**
+	 * Getter for the number of entries.
+	 *
+	 * @return Number of sprites.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the sprite type of an entry.
+	 *
+	 * @param i
+	 *            Entry index.
+	 * @return Sprite type.
+	 */
+	public SpriteType getSpriteType(final int i) {
+		return this.types[i];
+	}
+
+	/**
+	 * Getter for the color of an entry.
+	 *
+	 * @param i
+	 *            Entry index.
+	 * @return Color.
+	 */
+	public Color getColor(final int i) {
+		return this.colors[i];
+	}
+
+	/**
+	 * Getter for the left side of an entry.
+	 *
+	 * @param i
+	 *            Entry index.
+	 * @return Left side.
+	 */
+	public int getX(final int i) {
+		return this.xs[i];
+	}
+
+	/**
+	 * Getter for the upper side of an entry.
+	 *
+	 * @param i
+	 *            Entry index.
+	 * @return Upper side.
+	 */
+	public int getY(final int i) {
+		return this.ys[i];
+	}
+
+	/**
+	 * Getter for the width of an entry.
+	 *
+	 * @param i
+	 *            Entry index.
+	 * @return Width.
+	 */
+	public int getWidth(final int i) {
+		return this.widths[i];
+	}
+
+	/**
+	 * Getter for the height of an entry.
+	 *
+	 * @param i
+	 *            Entry index.
+	 * @return Height.
+	 */
+	public int getHeight(final int i) {
+		return this.heights[i];
+	}
+
+	/**
+	 * Fills the lookup table with every entry, all unmatched.
+	 */
+	private void buildTable() {
+		if (this.table.length < this.size * 2) {
+			this.table = new int[Integer.highestOneBit(this.size * 2) * 2];
+			this.matched = new boolean[this.types.length];
+		}
+		Arrays.fill(this.table, 0);
+		Arrays.fill(this.matched, 0, this.size, false);
+
+		int mask = this.table.length - 1;
+		for (int i = 0; i < this.size; i++) {
+			int slot = hash(this.types[i], this.colors[i].getRGB(),
+					this.xs[i], this.ys[i]) & mask;
+			while (this.table[slot] != 0)
+				slot = (slot + 1) & mask;
+			this.table[slot] = i + 1;
+		}
+	}
+
+	/**
+	 * Finds an unmatched entry equal to the given sprite and marks it.
+	 *
+	 * @param spriteType
+	 *            Sprite type.
+	 * @param rgb
+	 *            Color of the sprite.
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @return True if an entry was matched.
+	 */
+	private boolean match(final SpriteType spriteType, final int rgb,
+			final int x, final int y) {
+		int mask = this.table.length - 1;
+		int slot = hash(spriteType, rgb, x, y) & mask;
+		while (this.table[slot] != 0) {
+			int i = this.table[slot] - 1;
+			if (!this.matched[i] && this.types[i] == spriteType
+					&& this.xs[i] == x && this.ys[i] == y
+					&& this.colors[i].getRGB() == rgb) {
+				this.matched[i] = true;
+				return true;
+			}
+			slot = (slot + 1) & mask;
+		}
+		return false;
+	}
+
+	/**
+	 * Hashes the identity of a sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite type.
+	 * @param rgb
+	 *            Color of the sprite.
+	 * @param x
+	 *            Left side.
+	 * @param y
+	 *            Upper side.
+	 * @return Hash code.
+	 */
+	private static int hash(final SpriteType spriteType, final int rgb,
+			final int x, final int y) {
+		int h = spriteType.ordinal();
+		h = h * 31 + rgb;
+		h = h * 31 + x;
+		h = h * 31 + y;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Doubles the capacity of the entry arrays.
+	 */
+	private void grow() {
+		int capacity = this.types.length * 2;
+		this.types = Arrays.copyOf(this.types, capacity);
+		this.colors = Arrays.copyOf(this.colors, capacity);
+		this.xs = Arrays.copyOf(this.xs, capacity);
+		this.ys = Arrays.copyOf(this.ys, capacity);
+		this.widths = Arrays.copyOf(this.widths, capacity);
+		this.heights = Arrays.copyOf(this.heights, capacity);
+		this.matched = new boolean[capacity];
+	}
+}
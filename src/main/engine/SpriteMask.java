@@ -0,0 +1,113 @@
+package engine;
+
+/**
+ * Solid pixels of a sprite at the scale it is drawn on screen, one bit per
+ * pixel. Each row is stored as consecutive longs, the lowest bit of a word
+ * being its leftmost pixel, so two sprites overlapping on a row are tested
+ * with a couple of shifts and an AND. Used as the exact test after the
+ * bounding boxes of two entities were found to overlap.
+ */
+public final class SpriteMask {
+
+	/** Width, in screen pixels. */
+	private final int width;
+	/** Height, in screen pixels. */
+	private final int height;
+	/** Longs in a row. */
+	private final int words;
+	/** Rows of bits, row after row. */
+	private final long[] bits;
+
+	/**
+	 * Constructor, builds the mask of a sprite.
+	 *
+	 * @param sprite
+	 *            Sprite pixels, indexed by column and then row.
+	 * @param scale
+	 *            Screen pixels per sprite pixel.
+	 */
+	public SpriteMask(final boolean[][] sprite, final int scale) {
+		this.width = sprite.length * scale;
+		this.height = sprite.length == 0 ? 0 : sprite[0].length * scale;
+		this.words = Math.max(1, (this.width + Long.SIZE - 1) / Long.SIZE);
+		this.bits = new long[this.words * this.height];
+
+		for (int y = 0; y < this.height; y++)
+			for (int x = 0; x < this.width; x++)
+				if (sprite[x / scale][y / scale])
+					this.bits[y * this.words + x / Long.SIZE] |= 1L << x;
+	}
+
+	/**
+	 * Checks if a solid pixel of this mask lies on a solid pixel of another.
+	 *
+	 * @param x
+	 *            Left side of this mask on screen.
+	 * @param y
+	 *            Upper side of this mask on screen.
+	 * @param other
+	 *            Other mask.
+	 * @param otherX
+	 *            Left side of the other mask on screen.
+	 * @param otherY
+	 *            Upper side of the other mask on screen.
+	 * @return True if both masks share a solid pixel.
+	 */
+	public boolean overlaps(final int x, final int y, final SpriteMask other,
+			final int otherX, final int otherY) {
+		int top = Math.max(y, otherY);
+		int bottom = Math.min(y + this.height, otherY + other.height);
+		int offset = x - otherX;
+		for (int row = top; row < bottom; row++) {
+			int start = (row - y) * this.words;
+			int otherStart = (row - otherY) * other.words;
+			for (int w = 0; w < this.words; w++) {
+				long word = this.bits[start + w];
+				if (word != 0 && (word & other.window(otherStart,
+						offset + w * Long.SIZE)) != 0)
+					return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns 64 consecutive pixels of a row.
+	 *
+	 * @param start
+	 *            Index of the first long of the row.
+	 * @param column
+	 *            Column of the first pixel, may be outside the mask.
+	 * @return Pixels from that column on, lowest bit first.
+	 */
+	private long window(final int start, final int column) {
+		if (column <= -Long.SIZE || column >= this.words * Long.SIZE)
+			return 0;
+		if (column < 0)
+			return this.bits[start] << -column;
+		int word = column >>> 6;
+		int shift = column & (Long.SIZE - 1);
+		long window = this.bits[start + word] >>> shift;
+		if (shift != 0 && word + 1 < this.words)
+			window |= this.bits[start + word + 1] << (Long.SIZE - shift);
+		return window;
+	}
+
+	/**
+	 * Getter for the width of the mask.
+	 *
+	 * @return Width, in screen pixels.
+	 */
+	public int getWidth() {
+		return this.width;
+	}
+
+	/**
+	 * Getter for the height of the mask.
+	 *
+	 * @return Height, in screen pixels.
+	 */
+	public int getHeight() {
+		return this.height;
+	}
+}
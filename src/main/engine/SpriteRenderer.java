@@ -0,0 +1,43 @@
+package engine;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Backend that draws sprites into a buffer for the {@link DrawManager}.
+ * Chosen once at startup with the invaders.renderer system property:
+ * "java2d" (default) blits cached images through Java2D, "raster" writes
+ * pixel runs straight into the buffer's int array.
+ */
+public interface SpriteRenderer {
+
+	/** System property selecting the backend. */
+	String PROPERTY = "invaders.renderer";
+
+	/**
+	 * Draws a sprite.
+	 *
+	 * @param target
+	 *            Buffer to draw in.
+	 * @param graphics
+	 *            Graphics of the buffer.
+	 * @param spriteType
+	 *            Sprite to draw.
+	 * @param color
+	 *            Color of the sprite.
+	 * @param positionX
+	 *            Coordinates for the left side of the sprite.
+	 * @param positionY
+	 *            Coordinates for the upper side of the sprite.
+	 */
+	void drawSprite(BufferedImage target, Graphics graphics,
+			SpriteType spriteType, Color color, int positionX, int positionY);
+
+	/**
+	 * Drops anything precomputed from the sprite masks.
+	 */
+	void invalidate();
+}
@@ -0,0 +1,224 @@
+package engine;
+
+import java.util.Arrays;
+
+/**
+ * Delayed actions counted in game ticks, kept on a hashed wheel of slots.
+ * The owner calls {@link #advance()} once per tick on the game thread and
+ * due actions run there, so they need no locking. Scheduling and
+ * cancelling take constant time. Timers live in preallocated arrays linked
+ * into their slot by index, so nothing is allocated unless more timers are
+ * pending at once than the wheel was sized for. A timer is referred to by
+ * a handle that also holds a generation number, so cancelling a timer
+ * that already ran, or whose slot was reused, does nothing.
+ */
+public final class TimerWheel {
+
+	/** Handle that never refers to a timer. */
+	public static final int NONE = -1;
+
+	/** Bits of a handle holding the timer index. */
+	private static final int INDEX_BITS = 16;
+	/** Mask of the timer index in a handle. */
+	private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+	/** Most timers pending at once. */
+	private static final int MAX_TIMERS = 1 << INDEX_BITS;
+	/** Link to no timer. */
+	private static final int NIL = -1;
+
+	/** First timer of each slot. */
+	private final int[] slotHeads;
+	/** Mask of a tick number giving its slot. */
+	private final int slotMask;
+	/** Slot of the current tick. */
+	private int cursor;
+
+	/** Next timer in the same slot, or in the free list. */
+	private int[] next;
+	/** Previous timer in the same slot. */
+	private int[] previous;
+	/** Slot of each pending timer, NIL if free. */
+	private int[] slots;
+	/** Turns of the wheel left before each timer is due. */
+	private int[] rounds;
+	/** Generation of each timer, raised when it runs or is cancelled. */
+	private int[] generations;
+	/** Action of each timer. */
+	private Runnable[] actions;
+	/** First free timer. */
+	private int freeHead;
+	/** Number of pending timers. */
+	private int size;
+
+	/** Timers due on the current tick. */
+	private Runnable[] due;
+
+	/**
+	 * Constructor, allocates the wheel.
+	 *
+	 * @param slots
+	 *            Number of slots, rounded up to a power of two. Delays longer
+	 *            than this take more than one turn of the wheel.
+	 * @param capacity
+	 *            Timers pending at once before the arrays grow.
+	 */
+	public TimerWheel(final int slots, final int capacity) {
+		int slotCount = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+		this.slotHeads = new int[slotCount];
+		Arrays.fill(this.slotHeads, NIL);
+		this.slotMask = slotCount - 1;
+
+		int timers = Math.max(1, Math.min(capacity, MAX_TIMERS));
+		this.next = new int[0];
+		this.previous = new int[0];
+		this.slots = new int[0];
+		this.rounds = new int[0];
+		this.generations = new int[0];
+		this.actions = new Runnable[0];
+		this.due = new Runnable[0];
+		this.freeHead = NIL;
+		grow(timers);
+	}
+
+	/**
+	 * Schedules an action.
+	 *
+	 * @param delay
+	 *            Ticks until the action runs, at least 1.
+	 * @param action
+	 *            Action to run on the game thread.
+	 * @return Handle of the timer.
+	 */
+	public int schedule(final int delay, final Runnable action) {
+		if (this.freeHead == NIL) {
+			if (this.next.length == MAX_TIMERS)
+				throw new IllegalStateException("Over " + MAX_TIMERS
+						+ " timers pending.");
+			grow(Math.min(this.next.length * 2, MAX_TIMERS));
+		}
+		int timer = this.freeHead;
+		this.freeHead = this.next[timer];
+
+		int ticks = Math.max(1, delay);
+		int slot = (this.cursor + ticks) & this.slotMask;
+		this.slots[timer] = slot;
+		this.rounds[timer] = (ticks - 1) / this.slotHeads.length;
+		this.actions[timer] = action;
+		this.previous[timer] = NIL;
+		this.next[timer] = this.slotHeads[slot];
+		if (this.slotHeads[slot] != NIL)
+			this.previous[this.slotHeads[slot]] = timer;
+		this.slotHeads[slot] = timer;
+		this.size++;
+		return (this.generations[timer] << INDEX_BITS) | timer;
+	}
+
+	/**
+	 * Cancels a timer.
+	 *
+	 * @param handle
+	 *            Handle returned by {@link #schedule(int, Runnable)}.
+	 * @return True if the timer was pending and will not run.
+	 */
+	public boolean cancel(final int handle) {
+		if (!isPending(handle))
+			return false;
+		release(handle & INDEX_MASK);
+		return true;
+	}
+
+	/**
+	 * Checks if a timer has not run nor been cancelled yet.
+	 *
+	 * @param handle
+	 *            Handle returned by {@link #schedule(int, Runnable)}.
+	 * @return True if the timer is pending.
+	 */
+	public boolean isPending(final int handle) {
+		if (handle < 0)
+			return false;
+		int timer = handle & INDEX_MASK;
+		return timer < this.slots.length && this.slots[timer] != NIL
+				&& this.generations[timer] == handle >>> INDEX_BITS;
+	}
+
+	/**
+	 * Moves to the next tick and runs the actions due on it, the latest
+	 * scheduled first. Actions may schedule or cancel timers.
+	 */
+	public void advance() {
+		this.cursor = (this.cursor + 1) & this.slotMask;
+		int dueCount = 0;
+		int timer = this.slotHeads[this.cursor];
+		while (timer != NIL) {
+			int following = this.next[timer];
+			if (this.rounds[timer] == 0) {
+				this.due[dueCount++] = this.actions[timer];
+				release(timer);
+			} else {
+				this.rounds[timer]--;
+			}
+			timer = following;
+		}
+		for (int i = 0; i < dueCount; i++) {
+			Runnable action = this.due[i];
+			this.due[i] = null;
+			action.run();
+		}
+	}
+
+	/**
+	 * Getter for the number of pending timers.
+	 *
+	 * @return Timers scheduled and not run nor cancelled.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Unlinks a timer from its slot and returns it to the free list.
+	 *
+	 * @param timer
+	 *            Timer index.
+	 */
+	private void release(final int timer) {
+		int slot = this.slots[timer];
+		if (this.previous[timer] != NIL)
+			this.next[this.previous[timer]] = this.next[timer];
+		else
+			this.slotHeads[slot] = this.next[timer];
+		if (this.next[timer] != NIL)
+			this.previous[this.next[timer]] = this.previous[timer];
+
+		this.slots[timer] = NIL;
+		this.actions[timer] = null;
+		this.generations[timer] = (this.generations[timer] + 1)
+				& (Integer.MAX_VALUE >>> INDEX_BITS);
+		this.next[timer] = this.freeHead;
+		this.freeHead = timer;
+		this.size--;
+	}
+
+	/**
+	 * Grows the timer arrays, adding the new timers to the free list.
+	 *
+	 * @param capacity
+	 *            New number of timers.
+	 */
+	private void grow(final int capacity) {
+		int old = this.next.length;
+		this.next = Arrays.copyOf(this.next, capacity);
+		this.previous = Arrays.copyOf(this.previous, capacity);
+		this.slots = Arrays.copyOf(this.slots, capacity);
+		this.rounds = Arrays.copyOf(this.rounds, capacity);
+		this.generations = Arrays.copyOf(this.generations, capacity);
+		this.actions = Arrays.copyOf(this.actions, capacity);
+		this.due = Arrays.copyOf(this.due, capacity);
+		for (int timer = capacity - 1; timer >= old; timer--) {
+			this.slots[timer] = NIL;
+			this.next[timer] = this.freeHead;
+			this.freeHead = timer;
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package engine;
+
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands complete frames from one drawing thread to one compositing thread
+ * without locks. The producer draws into its back image and publishes it
+ * by swapping it with the shared middle slot; the consumer swaps the middle
+ * slot with its front image whenever a newer frame is there. Neither side
+ * ever touches an image the other one owns, so frames never tear. Images
+ * are only reallocated by the producer, when the size changes.
+ */
+public final class TripleBuffer {
+
+	/** Bits of the middle slot holding the image index. */
+	private static final int INDEX_MASK = 0b11;
+	/** Bit set in the middle slot when it holds an unread frame. */
+	private static final int FRESH = 0b100;
+
+	/** The three frame images. */
+	private final BufferedImage[] images = new BufferedImage[3];
+	/** Graphics of each image. */
+	private final Graphics[] graphics = new Graphics[3];
+	/** Index of the shared image, plus the fresh bit. */
+	private final AtomicInteger middle = new AtomicInteger(1);
+	/** Image being drawn, owned by the producer. */
+	private int back = 0;
+	/** Image being shown, owned by the consumer. */
+	private int front = 2;
+	/** If the consumer has received a frame yet. */
+	private boolean hasFrame;
+
+	/**
+	 * Prepares the back image for a new frame, reallocating it if its size
+	 * differs. Producer side.
+	 *
+	 * @param width
+	 *            Frame width.
+	 * @param height
+	 *            Frame height.
+	 * @return Back image to draw in.
+	 */
+	public BufferedImage prepareBack(final int width, final int height) {
+		BufferedImage image = this.images[this.back];
+		if (image == null || image.getWidth() != width
+				|| image.getHeight() != height) {
+			if (this.graphics[this.back] != null)
+				this.graphics[this.back].dispose();
+			image = new BufferedImage(width, height,
+					BufferedImage.TYPE_INT_RGB);
+			this.images[this.back] = image;
+			this.graphics[this.back] = image.getGraphics();
+		}
+		return image;
+	}
+
+	/**
+	 * Getter for the Graphics of the back image. Producer side.
+	 *
+	 * @return Graphics to draw the frame with.
+	 */
+	public Graphics getBackGraphics() {
+		return this.graphics[this.back];
+	}
+
+	/**
+	 * Publishes the back image as the latest complete frame and takes the
+	 * previous middle image as the new back image. Producer side.
+	 */
+	public void publish() {
+		this.back = this.middle.getAndSet(this.back | FRESH) & INDEX_MASK;
+	}
+
+	/**
+	 * Returns the latest complete frame. Consumer side.
+	 *
+	 * @return Latest published image, or null if none was published yet.
+	 */
+	public BufferedImage latest() {
+		if ((this.middle.get() & FRESH) != 0) {
+			this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+			this.hasFrame = true;
+		}
+		return this.hasFrame ? this.images[this.front] : null;
+	}
+}
@@ -0,0 +1,426 @@
+package entity;
+
+import java.awt.Color;
+import java.util.Arrays;
+
+import engine.DrawManager.SpriteType;
+
+/**
+ * Every bullet of a game session, stored as parallel primitive arrays
+ * instead of one object per bullet. Bullets are addressed by index from 0
+ * to {@link #size()} - 1; removing one moves the last bullet into its slot,
+ * so indexes are only stable until the next removal. The unused tail of
+ * the arrays is the free list: it is pre-warmed when the store is created,
+ * only grows when a shot finds it empty, and can be capped. Each game
+ * session owns its store, so it is confined to the thread running that
+ * session and needs no locking. Counters of reused and new slots, refused
+ * shots, the peak live count and the bullets left over at the end of the
+ * session are kept for monitoring.
+ */
+public final class BulletStore {
+
+	/** Width of a bullet. */
+	public static final int WIDTH = 3 * 2;
+	/** Height of a bullet. */
+	public static final int HEIGHT = 5 * 2;
+	/** Color of every bullet. */
+	public static final Color COLOR = Color.WHITE;
+	/** Owner of the bullets shot by the player ship. */
+	public static final byte PLAYER = 0;
+	/** Owner of the bullets shot by the enemy ships. */
+	public static final byte ENEMY = 1;
+	/** System property with the number of bullet slots allocated up front. */
+	public static final String PREWARM_PROPERTY = "invaders.bullets.prewarm";
+	/** System property with the most bullets alive at once, 0 for no cap. */
+	public static final String CAP_PROPERTY = "invaders.bullets.cap";
+
+	/** Bullets tested together by the batch overlap test. */
+	private static final int BATCH = 64;
+	/** Default number of bullet slots allocated up front. */
+	private static final int DEFAULT_PREWARM = 64;
+
+	/** Most bullets alive at once, 0 for no cap. */
+	private final int hardCap;
+	/** Left side of each bullet. */
+	private int[] xs;
+	/** Upper side of each bullet. */
+	private int[] ys;
+	/** Speed of each bullet, positive is down. */
+	private int[] speeds;
+	/** Owner of each bullet. */
+	private byte[] owners;
+	/** Sprite of each bullet. */
+	private SpriteType[] spriteTypes;
+	/** Bullets waiting to be removed by {@link #removeMarked()}. */
+	private boolean[] marked;
+	/** Number of bullets. */
+	private int size;
+	/** Number of marked bullets. */
+	private int markedCount;
+
+	/** Bullets added into an already allocated slot. */
+	private long hits;
+	/** Bullets that needed the arrays to grow. */
+	private long misses;
+	/** Bullets refused because of the hard cap. */
+	private long rejected;
+	/** Bullets still alive when the session was closed. */
+	private long leaked;
+	/** Most bullets alive at once. */
+	private int peakSize;
+
+	/**
+	 * Constructor, sized from the {@link #PREWARM_PROPERTY} and
+	 * {@link #CAP_PROPERTY} system properties.
+	 */
+	public BulletStore() {
+		this(Integer.getInteger(PREWARM_PROPERTY, DEFAULT_PREWARM),
+				Integer.getInteger(CAP_PROPERTY, 0));
+	}
+
+	/**
+	 * Constructor, allocates the bullet slots.
+	 *
+	 * @param prewarm
+	 *            Number of bullet slots allocated up front.
+	 * @param hardCap
+	 *            Most bullets alive at once, 0 for no cap.
+	 */
+	public BulletStore(final int prewarm, final int hardCap) {
+		this.hardCap = Math.max(0, hardCap);
+		int capacity = Math.max(1, prewarm);
+		if (this.hardCap > 0)
+			capacity = Math.min(capacity, this.hardCap);
+		this.xs = new int[capacity];
+		this.ys = new int[capacity];
+		this.speeds = new int[capacity];
+		this.owners = new byte[capacity];
+		this.spriteTypes = new SpriteType[capacity];
+		this.marked = new boolean[capacity];
+	}
+
+	/**
+	 * Adds a bullet.
+	 *
+	 * @param centerX
+	 *            Position of the center of the bullet in the X axis.
+	 * @param positionY
+	 *            Position of the upper side of the bullet.
+	 * @param speed
+	 *            Speed of the bullet, positive or negative depending on
+	 *            direction - positive is down.
+	 * @param owner
+	 *            {@link #PLAYER} or {@link #ENEMY}.
+	 * @return Index of the new bullet, or -1 if the hard cap refused it.
+	 */
+	public int add(final int centerX, final int positionY, final int speed,
+			final byte owner) {
+		if (this.hardCap > 0 && this.size >= this.hardCap) {
+			this.rejected++;
+			return -1;
+		}
+		if (this.size == this.xs.length) {
+			grow();
+			this.misses++;
+		} else {
+			this.hits++;
+		}
+		int i = this.size++;
+		if (this.size > this.peakSize)
+			this.peakSize = this.size;
+		this.xs[i] = centerX - WIDTH / 2;
+		this.ys[i] = positionY;
+		this.speeds[i] = speed;
+		this.owners[i] = owner;
+		this.spriteTypes[i] = owner == PLAYER ? SpriteType.Bullet
+				: SpriteType.EnemyBullet;
+		this.marked[i] = false;
+		return i;
+	}
+
+	/**
+	 * Moves every bullet by its speed.
+	 */
+	public void update() {
+		int[] ys = this.ys;
+		int[] speeds = this.speeds;
+		for (int i = 0; i < this.size; i++)
+			ys[i] += speeds[i];
+	}
+
+	/**
+	 * Removes every bullet whose upper side is outside a vertical range.
+	 *
+	 * @param minY
+	 *            Lowest upper side kept.
+	 * @param maxY
+	 *            Highest upper side kept.
+	 */
+	public void cull(final int minY, final int maxY) {
+		int i = 0;
+		while (i < this.size) {
+			if (this.ys[i] < minY || this.ys[i] > maxY)
+				remove(i);
+			else
+				i++;
+		}
+	}
+
+	/**
+	 * Tests every bullet box against one box. Bullets are taken in batches
+	 * of {@link #BATCH}: a first loop without branches, which the JIT runs
+	 * over several bullets at once, tells if any bullet of the batch
+	 * overlaps, and only then are they flagged one by one. A bullet flagged
+	 * here still needs the exact test of the caller; one not flagged cannot
+	 * hit the box.
+	 *
+	 * @param x
+	 *            Left side of the box.
+	 * @param y
+	 *            Upper side of the box.
+	 * @param width
+	 *            Width of the box.
+	 * @param height
+	 *            Height of the box.
+	 * @param hits
+	 *            Receives, for each bullet index, if its box overlaps. At
+	 *            least {@link #size()} long.
+	 * @return Number of bullets flagged.
+	 */
+	public int overlapping(final int x, final int y, final int width,
+			final int height, final boolean[] hits) {
+		int[] xs = this.xs;
+		int[] ys = this.ys;
+		int right = x + width;
+		int bottom = y + height;
+		int count = 0;
+		Arrays.fill(hits, 0, this.size, false);
+		for (int start = 0; start < this.size; start += BATCH) {
+			int end = Math.min(start + BATCH, this.size);
+			// Sign bit of each difference is set when the sides overlap.
+			int any = 0;
+			for (int i = start; i < end; i++)
+				any |= (xs[i] - right) & (x - xs[i] - WIDTH)
+						& (ys[i] - bottom) & (y - ys[i] - HEIGHT);
+			if (any >= 0)
+				continue;
+			for (int i = start; i < end; i++)
+				if (((xs[i] - right) & (x - xs[i] - WIDTH) & (ys[i] - bottom)
+						& (y - ys[i] - HEIGHT)) < 0) {
+					hits[i] = true;
+					count++;
+				}
+		}
+		return count;
+	}
+
+	/**
+	 * Marks a bullet to be removed once the current pass over the bullets is
+	 * over, keeping every index valid until then.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 */
+	public void mark(final int i) {
+		if (!this.marked[i]) {
+			this.marked[i] = true;
+			this.markedCount++;
+		}
+	}
+
+	/**
+	 * Checks if a bullet is marked for removal.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 * @return True if {@link #mark(int)} was called on it.
+	 */
+	public boolean isMarked(final int i) {
+		return this.marked[i];
+	}
+
+	/**
+	 * Removes every marked bullet.
+	 */
+	public void removeMarked() {
+		int i = 0;
+		while (this.markedCount > 0 && i < this.size) {
+			if (this.marked[i])
+				remove(i);
+			else
+				i++;
+		}
+	}
+
+	/**
+	 * Removes a bullet right away, moving the last bullet into its slot.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 */
+	public void remove(final int i) {
+		if (this.marked[i])
+			this.markedCount--;
+		int last = --this.size;
+		this.xs[i] = this.xs[last];
+		this.ys[i] = this.ys[last];
+		this.speeds[i] = this.speeds[last];
+		this.owners[i] = this.owners[last];
+		this.spriteTypes[i] = this.spriteTypes[last];
+		this.marked[i] = this.marked[last];
+		this.spriteTypes[last] = null;
+		this.marked[last] = false;
+	}
+
+	/**
+	 * Removes every bullet.
+	 */
+	public void clear() {
+		Arrays.fill(this.spriteTypes, 0, this.size, null);
+		Arrays.fill(this.marked, 0, this.size, false);
+		this.size = 0;
+		this.markedCount = 0;
+	}
+
+	/**
+	 * Ends the session: bullets still alive are counted as leaked and
+	 * removed. The slots are kept for the next session.
+	 */
+	public void close() {
+		this.leaked += this.size;
+		clear();
+	}
+
+	/**
+	 * Getter for the number of bullets.
+	 *
+	 * @return Number of bullets.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Getter for the left side of a bullet.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 * @return Position of the bullet in the X axis.
+	 */
+	public int getPositionX(final int i) {
+		return this.xs[i];
+	}
+
+	/**
+	 * Getter for the upper side of a bullet.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 * @return Position of the bullet in the Y axis.
+	 */
+	public int getPositionY(final int i) {
+		return this.ys[i];
+	}
+
+	/**
+	 * Getter for the speed of a bullet.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 * @return Speed of the bullet, positive is down.
+	 */
+	public int getSpeed(final int i) {
+		return this.speeds[i];
+	}
+
+	/**
+	 * Getter for the owner of a bullet.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 * @return {@link #PLAYER} or {@link #ENEMY}.
+	 */
+	public byte getOwner(final int i) {
+		return this.owners[i];
+	}
+
+	/**
+	 * Getter for the sprite of a bullet.
+	 *
+	 * @param i
+	 *            Bullet index.
+	 * @return Sprite type of the bullet.
+	 */
+	public SpriteType getSpriteType(final int i) {
+		return this.spriteTypes[i];
+	}
+
+	/**
+	 * Getter for the bullets added into an already allocated slot.
+	 *
+	 * @return Free list hits.
+	 */
+	public long getHits() {
+		return this.hits;
+	}
+
+	/**
+	 * Getter for the bullets that needed the arrays to grow.
+	 *
+	 * @return Free list misses.
+	 */
+	public long getMisses() {
+		return this.misses;
+	}
+
+	/**
+	 * Getter for the bullets refused because of the hard cap.
+	 *
+	 * @return Refused bullets.
+	 */
+	public long getRejected() {
+		return this.rejected;
+	}
+
+	/**
+	 * Getter for the bullets still alive when the session was closed.
+	 *
+	 * @return Leaked bullets.
+	 */
+	public long getLeaked() {
+		return this.leaked;
+	}
+
+	/**
+	 * Getter for the most bullets alive at once.
+	 *
+	 * @return Peak live count.
+	 */
+	public int getPeakSize() {
+		return this.peakSize;
+	}
+
+	/**
+	 * Getter for the number of allocated bullet slots.
+	 *
+	 * @return Capacity of the arrays.
+	 */
+	public int getCapacity() {
+		return this.xs.length;
+	}
+
+	/**
+	 * Doubles the capacity of the arrays, up to the hard cap.
+	 */
+	private void grow() {
+		int capacity = this.xs.length * 2;
+		if (this.hardCap > 0)
+			capacity = Math.min(capacity, this.hardCap);
+		this.xs = Arrays.copyOf(this.xs, capacity);
+		this.ys = Arrays.copyOf(this.ys, capacity);
+		this.speeds = Arrays.copyOf(this.speeds, capacity);
+		this.owners = Arrays.copyOf(this.owners, capacity);
+		this.spriteTypes = Arrays.copyOf(this.spriteTypes, capacity);
+		this.marked = Arrays.copyOf(this.marked, capacity);
+	}
+}
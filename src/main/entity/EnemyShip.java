@@ -2,7 +2,6 @@ package entity;
 
 import java.awt.Color;
 
-import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager.SpriteType;
 import engine.GameState;
@@ -10,7 +9,9 @@ import engine.Sound;
 import engine.SoundManager;
 
 /**
- * Implements a enemy ship, to be destroyed by the player.
+ * Implements a enemy ship, to be destroyed by the player. A ship in a
+ * formation keeps its position relative to the formation origin, so the
+ * formation moves and animates all its ships at once.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -31,12 +32,16 @@ public class EnemyShip extends Entity {
 	/** Point value of a bonus enemy. */
 	private static final int BONUS_TYPE_POINTS = 100;
 
-	/** Cooldown between sprite changes. */
-	private Cooldown animationCooldown;
 	/** Checks if the ship has been hit by a bullet. */
 	private boolean isDestroyed;
 	/** Values of the ship, in points, when destroyed. */
 	private int pointValue;
+	/** Column of the ship in its formation, -1 outside a formation. */
+	private int formationColumn = -1;
+	/** Row of the ship in its formation, -1 outside a formation. */
+	private int formationRow = -1;
+	/** Formation the ship belongs to, null outside a formation. */
+	private EnemyShipFormation formation;
 
 	/** Singleton instance of SoundManager */
 	private final SoundManager soundManager = SoundManager.getInstance();
@@ -57,7 +62,6 @@ public class EnemyShip extends Entity {
 		super(positionX, positionY, 12 * 2, 8 * 2, getDefaultColor(spriteType));
 
 		this.spriteType = spriteType;
-		this.animationCooldown = Core.getCooldown(500);
 		this.isDestroyed = false;
         //Determine enemy health based on game level
 		this.health = 0;
@@ -141,6 +145,113 @@ public class EnemyShip extends Entity {
 		return this.pointValue;
 	}
 
+	/**
+	 * Adds the ship to a formation, its position becomes relative to the
+	 * formation origin.
+	 *
+	 * @param formation
+	 *            Formation of the ship.
+	 * @param column
+	 *            Column of the ship.
+	 * @param row
+	 *            Row of the ship.
+	 */
+	final void joinFormation(final EnemyShipFormation formation,
+			final int column, final int row) {
+		this.positionX -= formation.getOriginX();
+		this.positionY -= formation.getOriginY();
+		this.formation = formation;
+		this.formationColumn = column;
+		this.formationRow = row;
+	}
+
+	/**
+	 * Getter for the X axis position of the ship, resolved from the
+	 * formation origin when in a formation.
+	 *
+	 * @return Position of the ship in the X axis.
+	 */
+	@Override
+	public final int getPositionX() {
+		if (this.formation == null)
+			return this.positionX;
+		return this.formation.getOriginX() + this.positionX;
+	}
+
+	/**
+	 * Getter for the Y axis position of the ship, resolved from the
+	 * formation origin when in a formation.
+	 *
+	 * @return Position of the ship in the Y axis.
+	 */
+	@Override
+	public final int getPositionY() {
+		if (this.formation == null)
+			return this.positionY;
+		return this.formation.getOriginY() + this.positionY;
+	}
+
+	/**
+	 * Setter for the X axis position of the ship, stored relative to the
+	 * formation origin when in a formation.
+	 *
+	 * @param positionX
+	 *            New position of the ship in the X axis.
+	 */
+	@Override
+	public final void setPositionX(final int positionX) {
+		if (this.formation == null)
+			this.positionX = positionX;
+		else
+			this.positionX = positionX - this.formation.getOriginX();
+	}
+
+	/**
+	 * Setter for the Y axis position of the ship, stored relative to the
+	 * formation origin when in a formation.
+	 *
+	 * @param positionY
+	 *            New position of the ship in the Y axis.
+	 */
+	@Override
+	public final void setPositionY(final int positionY) {
+		if (this.formation == null)
+			this.positionY = positionY;
+		else
+			this.positionY = positionY - this.formation.getOriginY();
+	}
+
+	/**
+	 * Getter for the sprite of the ship, in the animation frame of its
+	 * formation.
+	 *
+	 * @return Sprite corresponding to the ship.
+	 */
+	@Override
+	public final SpriteType getSpriteType() {
+		if (this.formation != null && this.formation.isAlternateFrame())
+			return alternateFrame(this.spriteType);
+		return this.spriteType;
+	}
+
+	/**
+	 * Getter for the column of the ship in its formation.
+	 *
+	 * @return Column, -1 outside a formation.
+	 */
+	public final int getFormationColumn() {
+		return this.formationColumn;
+	}
+
+	/**
+	 * Getter for the row of the ship in its formation.
+	 *
+	 * @return Row, -1 outside a formation.
+	 */
+	public final int getFormationRow() {
+		return this.formationRow;
+	}
+
 	/**
 	 * Moves the ship the specified distance.
 	 * 
@@ -155,46 +266,36 @@ public class EnemyShip extends Entity {
 	}
 
 	/**
-	 * Updates attributes, mainly used for animation purposes.
-	 */
-	public final void update() {
-		if (this.animationCooldown.checkFinished()) {
-			this.animationCooldown.reset();
-
-			switch (this.spriteType) {
-			case EnemyShipA1:
-				this.spriteType = SpriteType.EnemyShipA2;
-				break;
-			case EnemyShipA2:
-				this.spriteType = SpriteType.EnemyShipA1;
-				break;
-			case EnemyShipB1:
-				this.spriteType = SpriteType.EnemyShipB2;
-				break;
-			case EnemyShipB2:
-				this.spriteType = SpriteType.EnemyShipB1;
-				break;
-			case EnemyShipC1:
-				this.spriteType = SpriteType.EnemyShipC2;
-				break;
-			case EnemyShipC2:
-				this.spriteType = SpriteType.EnemyShipC1;
-				break;
-			case EnemyShipD1:
-				this.spriteType = SpriteType.EnemyShipD2;
-				break;
-			case EnemyShipD2:
-				this.spriteType = SpriteType.EnemyShipD1;
-				break;
-			case EnemyShipE1:
-				this.spriteType = SpriteType.EnemyShipE2;
-				break;
-			case EnemyShipE2:
-				this.spriteType = SpriteType.EnemyShipE1;
-				break;
-			default:
-				break;
-			}
+	 * Returns the other frame of an animated sprite.
+	 *
+	 * @param spriteType
+	 *            Sprite in one animation frame.
+	 * @return Sprite in the other frame, or the same sprite if not animated.
+	 */
+	private static SpriteType alternateFrame(final SpriteType spriteType) {
+		switch (spriteType) {
+		case EnemyShipA1:
+			return SpriteType.EnemyShipA2;
+		case EnemyShipA2:
+			return SpriteType.EnemyShipA1;
+		case EnemyShipB1:
+			return SpriteType.EnemyShipB2;
+		case EnemyShipB2:
+			return SpriteType.EnemyShipB1;
+		case EnemyShipC1:
+			return SpriteType.EnemyShipC2;
+		case EnemyShipC2:
+			return SpriteType.EnemyShipC1;
+		case EnemyShipD1:
+			return SpriteType.EnemyShipD2;
+		case EnemyShipD2:
+			return SpriteType.EnemyShipD1;
+		case EnemyShipE1:
+			return SpriteType.EnemyShipE2;
+		case EnemyShipE2:
+			return SpriteType.EnemyShipE1;
+		default:
+			return spriteType;
 		}
 	}
 
@@ -216,7 +317,7 @@ public class EnemyShip extends Entity {
         }else{
             this.health--;
         }
-        soundManager.playSound(Sound.ALIEN_HIT, balance);
+        // The hit sound is played by the caller, once per batch of hits.
     }
 
 	public int getHealth(){return this.health; }  //Receive enemy ship health
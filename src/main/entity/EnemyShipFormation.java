@@ -8,12 +8,15 @@ import engine.DrawManager.SpriteType;
 import screen.Screen;
 
 /**
- * Groups enemy ships into a formation that moves together.
+ * Groups enemy ships into a formation that moves together. Ships are kept
+ * in a flat array indexed by column and row, with a bitmask of the ships
+ * still alive in each column, so finding a ship, its column's shooter or
+ * the bottom row takes constant time or one pass over a column.
  *
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  *
  */
-public class EnemyShipFormation implements Iterable<EnemyShip> {
+public final class EnemyShipFormation implements Iterable<EnemyShip> {
 
 	/** Initial position in the x-axis. */
 	private static final int INIT_POS_X = 20;
@@ -45,6 +48,10 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private static final int DESCENT_DISTANCE = 20;
 	/** Minimum speed allowed. */
 	private static final int MINIMUM_SPEED = 10;
+	/** Milliseconds between sprite changes. */
+	private static final int ANIMATION_INTERVAL = 500;
+	/** Most rows a formation can have, one bit of a column mask each. */
+	private static final int MAX_ROWS = Long.SIZE;
 
 	/** DrawManager instance. */
 	private DrawManager drawManager;
@@ -55,8 +62,29 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	/** Singleton instance of SoundManager */
 	private final SoundManager soundManager = SoundManager.getInstance();
 
-	/** List of enemy ships forming the formation. */
-	private List<List<EnemyShip>> enemyShips;
+	/**
+	 * Enemy ships forming the formation, at column * nShipsHigh + row, null
+	 * once removed.
+	 */
+	private EnemyShip[] enemyShips;
+	/** Rows of the ships not destroyed yet, one bit per row, per column. */
+	private long[] aliveMasks;
+	/** Rows of the ships not removed yet, one bit per row, per column. */
+	private long[] presentMasks;
+	/** Number of ships not removed yet in each row. */
+	private int[] rowCounts;
+	/** Leftmost column with a ship not removed yet. */
+	private int leftColumn;
+	/** Rightmost column with a ship not removed yet. */
+	private int rightColumn;
+	/** Upper row with a ship not removed yet. */
+	private int topRow;
+	/** Lower row with a ship not removed yet. */
+	private int bottomRow;
+	/** Indexes of the destroyed ships still shown as explosions. */
+	private int[] pendingRemovals;
+	/** Number of destroyed ships still shown as explosions. */
+	private int pendingCount;
 	/** Minimum time between shots. */
 	private Cooldown shootingCooldown;
 	/** Number of ships in the formation - horizontally. */
@@ -85,12 +113,24 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private int positionX;
 	/** Position in the y-axis of the upper left corner of the formation. */
 	private int positionY;
+	/** Position in the x-axis of the first column, removed or not. */
+	private int originX;
+	/** Position in the y-axis of the first row, removed or not. */
+	private int originY;
+	/** Cooldown between sprite changes of the whole formation. */
+	private Cooldown animationCooldown;
+	/** If the ships show the second frame of their animation. */
+	private boolean alternateFrame;
 	/** Width of one ship. */
 	private int shipWidth;
 	/** Height of one ship. */
 	private int shipHeight;
-	/** List of ships that are able to shoot. */
-	private List<EnemyShip> shooters;
+	/** Columns with a ship able to shoot, the first shooterCount are valid. */
+	private int[] shooterColumns;
+	/** Index of each column in shooterColumns, -1 if it cannot shoot. */
+	private int[] shooterSlots;
+	/** Number of columns able to shoot. */
+	private int shooterCount;
 	/** Number of not destroyed ships. */
     public int shipCount;
 
@@ -101,7 +141,7 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	private GameState gameState;
 
     public EnemyShip getEnemyShip() {
-		EnemyShip enemyShip = enemyShips.get(0).get(0);
+		EnemyShip enemyShip = enemyShips[0];
 		return enemyShip;
     }
 
@@ -124,7 +164,6 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	public EnemyShipFormation(final GameSettings gameSettings, final GameState gameState) {
 		this.drawManager = Core.getDrawManager();
 		this.logger = Core.getLogger();
-		this.enemyShips = new ArrayList<List<EnemyShip>>();
 		this.currentDirection = Direction.RIGHT;
 		this.movementInterval = 0;
 		this.nShipsWide = gameSettings.getFormationWidth();
@@ -134,20 +173,30 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				* SHOOTING_VARIANCE);
 		this.baseSpeed = gameSettings.getBaseSpeed();
 		this.movementSpeed = this.baseSpeed;
+		this.animationCooldown = Core.getCooldown(ANIMATION_INTERVAL);
 		this.positionX = INIT_POS_X;
 		this.positionY = INIT_POS_Y;
-		this.shooters = new ArrayList<EnemyShip>();
+		this.originX = positionX;
+		this.originY = positionY;
 		this.gameState = gameState;
 		SpriteType spriteType;
 
 		this.logger.info("Initializing " + nShipsWide + "x" + nShipsHigh
 				+ " ship formation in (" + positionX + "," + positionY + ")");
 
-		// Each sub-list is a column on the formation.
-		for (int i = 0; i < this.nShipsWide; i++)
-			this.enemyShips.add(new ArrayList<EnemyShip>());
+		if (this.nShipsHigh > MAX_ROWS)
+			throw new IllegalArgumentException("Formation height "
+					+ this.nShipsHigh + " is over " + MAX_ROWS + " rows.");
+
+		this.enemyShips = new EnemyShip[this.nShipsWide * this.nShipsHigh];
+		this.aliveMasks = new long[this.nShipsWide];
+		this.presentMasks = new long[this.nShipsWide];
+		this.rowCounts = new int[this.nShipsHigh];
+		this.pendingRemovals = new int[this.nShipsWide * this.nShipsHigh];
+		this.shooterColumns = new int[this.nShipsWide];
+		this.shooterSlots = new int[this.nShipsWide];
 
-		for (List<EnemyShip> column : this.enemyShips) {
+		for (int column = 0; column < this.nShipsWide; column++) {
 			for (int i = 0; i < this.nShipsHigh; i++) {
 				if (i / (float) this.nShipsHigh < PROPORTION_E)
 					spriteType = SpriteType.EnemyShipE1;
@@ -160,24 +209,35 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 				else
 					spriteType = SpriteType.EnemyShipA1;
 
-				column.add(new EnemyShip((SEPARATION_DISTANCE
-						* this.enemyShips.indexOf(column))
-						+ positionX, (SEPARATION_DISTANCE * i)
-						+ positionY, spriteType, gameState));
+				EnemyShip enemyShip = new EnemyShip((SEPARATION_DISTANCE
+						* column) + positionX, (SEPARATION_DISTANCE * i)
+						+ positionY, spriteType, gameState);
+				enemyShip.joinFormation(this, column, i);
+				this.enemyShips[index(column, i)] = enemyShip;
+				this.aliveMasks[column] |= 1L << i;
+				this.presentMasks[column] |= 1L << i;
+				this.rowCounts[i]++;
 				this.shipCount++;
 			}
 		}
 
-		this.shipWidth = this.enemyShips.get(0).get(0).getWidth();
-		this.shipHeight = this.enemyShips.get(0).get(0).getHeight();
+		this.leftColumn = 0;
+		this.rightColumn = this.nShipsWide - 1;
+		this.topRow = 0;
+		this.bottomRow = this.nShipsHigh - 1;
+		this.shipWidth = this.enemyShips[0].getWidth();
+		this.shipHeight = this.enemyShips[0].getHeight();
 
 		this.width = (this.nShipsWide - 1) * SEPARATION_DISTANCE
 				+ this.shipWidth;
 		this.height = (this.nShipsHigh - 1) * SEPARATION_DISTANCE
 				+ this.shipHeight;
 
-		for (List<EnemyShip> column : this.enemyShips)
-			this.shooters.add(column.get(column.size() - 1));
+		for (int column = 0; column < this.nShipsWide; column++) {
+			this.shooterSlots[column] = column;
+			this.shooterColumns[column] = column;
+		}
+		this.shooterCount = this.nShipsWide;
 	}
 
 	/**
@@ -191,24 +251,25 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	}
 
 	/**
-	 * Draws every individual component of the formation.
+	 * Records every individual component of the formation.
+	 *
+	 * @param commands
+	 *            Draw operations of the frame.
 	 */
-	public final void draw() {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				if (enemyShip != null)
-					drawManager.drawEntity(enemyShip, enemyShip.getPositionX(), enemyShip.getPositionY());
+	public final void draw(final RenderCommands commands) {
+		for (EnemyShip enemyShip : this.enemyShips)
+			if (enemyShip != null)
+				commands.drawEntity(enemyShip, enemyShip.getPositionX(), enemyShip.getPositionY());
 	}
 
 	/**
 	 * Draws every individual component of the formation for two player mode.
 	 */
 	public final void draw(final int playerNumber) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				if (enemyShip != null)
-					drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
-							enemyShip.getPositionY(), playerNumber);
+		for (EnemyShip enemyShip : this.enemyShips)
+			if (enemyShip != null)
+				drawManager.drawEntity(enemyShip, enemyShip.getPositionX(),
+						enemyShip.getPositionY(), playerNumber);
 	}
 
 	/**
@@ -279,126 +340,126 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 			else
 				movementY = Y_SPEED;
 
-			positionX += movementX;
-			positionY += movementY;
+			// Ships are placed relative to the origin, so this moves them all.
+			originX += movementX;
+			originY += movementY;
 
 			// Cleans explosions.
-			for (int i = 0; i < this.enemyShips.size(); i++)
-				for (int j = 0; j < this.enemyShips.get(i).size(); j++)
-					if (this.enemyShips.get(i).get(j) != null && this.enemyShips.get(i).get(j).isDestroyed()) {
-						this.logger.info("Removed enemy " + j + " from column " + i);
-						this.enemyShips.get(i).set(j, null);
-					}
+			for (int i = 0; i < this.pendingCount; i++)
+				remove(this.pendingRemovals[i]);
+			this.pendingCount = 0;
 
-			for (List<EnemyShip> column : this.enemyShips)
-				for (EnemyShip enemyShip : column)
-					if (enemyShip != null) {
-						enemyShip.move(movementX, movementY);
-						enemyShip.update();
-					}
+			if (this.animationCooldown.checkFinished()) {
+				this.animationCooldown.reset();
+				this.alternateFrame = !this.alternateFrame;
+			}
 		}
 	}
 
 	/**
-	 * Adjusts the width and height of the formation.
+	 * Getter for the position in the x-axis of the first column, the ships
+	 * of the formation are placed relative to it.
+	 *
+	 * @return Position of the first column in the X axis.
 	 */
-	private void adjustFormationBounds() {
-		int maxColumn = 0;
-		int minPositionY = Integer.MAX_VALUE;
-
-		for (int i = 0; i < this.enemyShips.size(); i++) {
-			List<EnemyShip> column = this.enemyShips.get(i);
-
-			// Check whether every ship is null
-			boolean allNull = column.stream().allMatch(Objects::isNull);
-
-			if (!allNull) {
-				// Find non-null elements only
-				EnemyShip firstNonNullShip = null;
-				EnemyShip lastNonNullShip = null;
-
-				// Find the first and last non-null elements in the column
-				for (EnemyShip ship : column) {
-					if (ship != null) {
-						if (firstNonNullShip == null) {
-							firstNonNullShip = ship;
-						}
-						lastNonNullShip = ship;
-					}
-				}
-
-				// Calculate the height of this column
-				int columnSize = lastNonNullShip.getPositionY() - this.positionY + this.shipHeight;
-				maxColumn = Math.max(maxColumn, columnSize);
-				minPositionY = Math.min(minPositionY, firstNonNullShip.getPositionY());
-			}
-		}
-
-		int leftMostPoint = 0;
-		int rightMostPoint = 0;
+	final int getOriginX() {
+		return this.originX;
+	}
 
-		for (List<EnemyShip> column : this.enemyShips) {
-			// Skip empty or all-null columns
-			if (!column.isEmpty()) {
-				EnemyShip firstNonNullShip = null;
+	/**
+	 * Getter for the position in the y-axis of the first row, the ships of
+	 * the formation are placed relative to it.
+	 *
+	 * @return Position of the first row in the Y axis.
+	 */
+	final int getOriginY() {
+		return this.originY;
+	}
 
-				// Find the first non-null ship in the column
-				for (EnemyShip ship : column) {
-					if (ship != null) {
-						firstNonNullShip = ship;
-						break; // We only need the first non-null element
-					}
-				}
+	/**
+	 * Checks which frame of their animation the ships show.
+	 *
+	 * @return True if the ships show their second frame.
+	 */
+	final boolean isAlternateFrame() {
+		return this.alternateFrame;
+	}
 
-				// Perform calculations only if a non-null ship is found
-				if (firstNonNullShip != null) {
-					if (leftMostPoint == 0) {
-						leftMostPoint = firstNonNullShip.getPositionX();
-					}
-					rightMostPoint = firstNonNullShip.getPositionX();
-				}
-			}
-		}
+	/**
+	 * Adjusts the position, width and height of the formation to the ships
+	 * not removed yet. The edge rows and columns are kept up to date as
+	 * ships are removed, so this takes constant time.
+	 */
+	private void adjustFormationBounds() {
+		if (this.leftColumn > this.rightColumn)
+			return;
 
-		this.width = rightMostPoint - leftMostPoint + this.shipWidth;
-		this.height = maxColumn;
+		this.positionX = this.originX + SEPARATION_DISTANCE * this.leftColumn;
+		this.positionY = this.originY + SEPARATION_DISTANCE * this.topRow;
+		this.width = (this.rightColumn - this.leftColumn) * SEPARATION_DISTANCE
+				+ this.shipWidth;
+		this.height = (this.bottomRow - this.topRow) * SEPARATION_DISTANCE
+				+ this.shipHeight;
+	}
 
-		this.positionX = leftMostPoint;
-		this.positionY = minPositionY;
+	/**
+	 * Removes the explosion of a destroyed ship from the formation and moves
+	 * the edge rows and columns in past any that became empty.
+	 *
+	 * @param i
+	 *            Index of the ship.
+	 */
+	private void remove(final int i) {
+		if (this.enemyShips[i] == null)
+			return;
+		int column = i / this.nShipsHigh;
+		int row = i % this.nShipsHigh;
+		this.logger.info("Removed enemy " + row + " from column " + column);
+		this.enemyShips[i] = null;
+		this.presentMasks[column] &= ~(1L << row);
+		this.rowCounts[row]--;
+
+		while (this.leftColumn <= this.rightColumn
+				&& this.presentMasks[this.leftColumn] == 0)
+			this.leftColumn++;
+		while (this.rightColumn >= this.leftColumn
+				&& this.presentMasks[this.rightColumn] == 0)
+			this.rightColumn--;
+		while (this.topRow <= this.bottomRow && this.rowCounts[this.topRow] == 0)
+			this.topRow++;
+		while (this.bottomRow >= this.topRow
+				&& this.rowCounts[this.bottomRow] == 0)
+			this.bottomRow--;
 	}
 
 	/**
 	 * Shoots a bullet downwards.
 	 *
 	 * @param bullets
-	 *            Bullets set to add the bullet being shot.
+	 *            Bullets on screen, to add the bullets being shot.
 	 */
-	public final void shoot(final Set<Bullet> bullets, int level, float balance) {
+	public final void shoot(final BulletStore bullets, int level, float balance) {
 		// Increasing the number of projectiles per level 3 (levels 1 to 3, 4 to 6, 2, 7 to 9, etc.)
-		int numberOfShooters = Math.min((level / 3) + 1, this.shooters.size());
+		int numberOfShooters = Math.min((level / 3) + 1, this.shooterCount);
 		int numberOfBullets = (level / 3) + 1;
 
-		// Randomly select enemy to fire in proportion to the level
-		List<EnemyShip> selectedShooters = new ArrayList<>();
-		for (int i = 0; i < numberOfShooters; i++) {
-			int index = (int) (Math.random() * this.shooters.size());
-			selectedShooters.add(this.shooters.get(index));
-		}
-
 		// Fire when the cool down is over
 		if (this.shootingCooldown.checkFinished()) {
 			this.shootingCooldown.reset();
 
-			// Each selected enemy fires a bullet
-			for (EnemyShip shooter : selectedShooters) {
+			// Randomly selected enemies, in proportion to the level, fire a bullet each
+			for (int s = 0; s < numberOfShooters; s++) {
+				int index = (int) (Math.random() * this.shooterCount);
+				EnemyShip shooter = getLowestLiveShip(this.shooterColumns[index]);
 				// One shot at the base
-				bullets.add(BulletPool.getBullet(shooter.getPositionX()
-						+ shooter.width / 2 + 10, shooter.getPositionY(), BULLET_SPEED));
+				bullets.add(shooter.getPositionX() + shooter.width / 2 + 10,
+						shooter.getPositionY(), BULLET_SPEED, BulletStore.ENEMY);
 
 				// Additional launches based on levels (more launches based on each level)
 				for (int i = 1; i < numberOfBullets; i++) {
-					bullets.add(BulletPool.getBullet(shooter.getPositionX()
-							+ shooter.width / 2 + (10 * (i + 1)), shooter.getPositionY(), BULLET_SPEED));
+					bullets.add(shooter.getPositionX() + shooter.width / 2
+							+ (10 * (i + 1)), shooter.getPositionY(),
+							BULLET_SPEED, BulletStore.ENEMY);
 				}
 				soundManager.playSound(Sound.ALIEN_LASER, balance);
 			}
@@ -414,100 +475,296 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 *            1p -1.0, 2p 1.0, both 0.0
 	 */
 	public final void destroy(final EnemyShip destroyedShip, final float balance) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i) != null && column.get(i).equals(destroyedShip)) {
-					column.get(i).destroy(balance);
-					this.logger.info("Destroyed ship in ("
-							+ this.enemyShips.indexOf(column) + "," + i + ")");
-				}
+		int column = destroyedShip.getFormationColumn();
+		int row = destroyedShip.getFormationRow();
+		if (contains(destroyedShip)) {
+			destroyedShip.destroy(balance);
+			this.logger.info("Destroyed ship in (" + column + "," + row + ")");
+			markDestroyed(column, row);
+		}
 
-		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
+		this.shipCount--;
+	}
 
-			for (List<EnemyShip> column : this.enemyShips)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-					break;
-				}
+	public final void HealthManageDestroy(final EnemyShip destroyedShip, final float balance) {
+		int column = destroyedShip.getFormationColumn();
+		int row = destroyedShip.getFormationRow();
+		if (contains(destroyedShip)) {
+			//If health is 0, number of remaining enemy ships--, score awarded, number of destroyed ships++
+			if(destroyedShip.getHealth() <= 0){
+				this.shipCount--;
+				this.logger.info("Destroyed ship in (" + column + "," + row + ")");
+				point = destroyedShip.getPointValue();
+				distroyedship = 1;
+				destroyedShip.setHealth(destroyedShip.getHealth() - 1);
+			}else{
+				point = 0;
+				distroyedship = 0;
+			}
+			destroyedShip.HealthManageDestroy(balance);
+			if (destroyedShip.isDestroyed())
+				markDestroyed(column, row);
+		}
+	}
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShips
-					.get(destroyedShipColumnIndex));
+	/**
+	 * Checks if a ship is still in the formation, at the place it records.
+	 *
+	 * @param enemyShip
+	 *            Ship to look for.
+	 * @return True if the ship was not removed from this formation.
+	 */
+	private boolean contains(final EnemyShip enemyShip) {
+		int column = enemyShip.getFormationColumn();
+		int row = enemyShip.getFormationRow();
+		return column >= 0 && column < this.nShipsWide && row >= 0
+				&& row < this.nShipsHigh
+				&& this.enemyShips[index(column, row)] == enemyShip;
+	}
 
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
-			}
+	/**
+	 * Clears the alive bit of a ship, queues its explosion for removal and
+	 * drops its column from the shooters once no ship is left alive in it.
+	 *
+	 * @param column
+	 *            Column of the ship.
+	 * @param row
+	 *            Row of the ship.
+	 */
+	private void markDestroyed(final int column, final int row) {
+		if ((this.aliveMasks[column] & (1L << row)) == 0)
+			return;
+		this.aliveMasks[column] &= ~(1L << row);
+		this.pendingRemovals[this.pendingCount++] = index(column, row);
+
+		// Updates the list of columns that can shoot the player.
+		int slot = this.shooterSlots[column];
+		if (this.aliveMasks[column] == 0 && slot >= 0) {
+			int last = this.shooterColumns[--this.shooterCount];
+			this.shooterColumns[slot] = last;
+			this.shooterSlots[last] = slot;
+			this.shooterSlots[column] = -1;
+			this.logger.info("Shooters list reduced to "
+					+ this.shooterCount + " members.");
 		}
+	}
 
-		this.shipCount--;
+	/**
+	 * Gets the lowest ship still alive in a column, the one in charge of
+	 * shooting.
+	 *
+	 * @param column
+	 *            Column to search.
+	 * @return Lowest live ship, null if the column has none alive.
+	 */
+	public final EnemyShip getLowestLiveShip(final int column) {
+		long mask = this.aliveMasks[column];
+		if (mask == 0)
+			return null;
+		int row = Long.SIZE - 1 - Long.numberOfLeadingZeros(mask);
+		return this.enemyShips[index(column, row)];
 	}
 
-	public final void HealthManageDestroy(final EnemyShip destroyedShip, final float balance) {
-		for (List<EnemyShip> column : this.enemyShips)
-			for (int i = 0; i < column.size(); i++)
-				if (column.get(i) != null && column.get(i).equals(destroyedShip)) {
-					//If health is 0, number of remaining enemy ships--, score awarded, number of destroyed ships++
-					if(destroyedShip.getHealth() <= 0){
-						this.shipCount--;
-						this.logger.info("Destroyed ship in ("
-								+ this.enemyShips.indexOf(column) + "," + i + ")");
-						point = destroyedShip.getPointValue();
-						distroyedship = 1;
-						destroyedShip.setHealth(destroyedShip.getHealth() - 1);
-					}else{
-						point = 0;
-						distroyedship = 0;
-					}
-					column.get(i).HealthManageDestroy(balance);
-				}
+	/**
+	 * Returns the lowest row with a ship still alive.
+	 *
+	 * @return Bottom row, or -1 when every ship is destroyed.
+	 */
+	public final int getBottomRow() {
+		long rows = 0;
+		for (long mask : this.aliveMasks)
+			rows |= mask;
+		return Long.SIZE - 1 - Long.numberOfLeadingZeros(rows);
+	}
 
-		// Updates the list of ships that can shoot the player.
-		if (this.shooters.contains(destroyedShip)) {
-			int destroyedShipIndex = this.shooters.indexOf(destroyedShip);
-			int destroyedShipColumnIndex = -1;
+	/**
+	 * Returns the upper side of the topmost ship still alive.
+	 *
+	 * @return Lowest Y coordinate of a live ship, Integer.MAX_VALUE when
+	 *         every ship is destroyed.
+	 */
+	public final int getTopLiveY() {
+		int topY = Integer.MAX_VALUE;
+		for (int column = 0; column < this.nShipsWide; column++) {
+			long mask = this.aliveMasks[column];
+			if (mask != 0) {
+				EnemyShip top = this.enemyShips[index(column,
+						Long.numberOfTrailingZeros(mask))];
+				topY = Math.min(topY, top.getPositionY());
+			}
+		}
+		return topY;
+	}
 
-			for (List<EnemyShip> column : this.enemyShips)
-				if (column.contains(destroyedShip)) {
-					destroyedShipColumnIndex = this.enemyShips.indexOf(column);
-					break;
-				}
+	/**
+	 * Returns a cursor on the first ship still alive. Together with
+	 * {@link #nextLive(int)} and {@link #shipAt(int)} this walks the live
+	 * ships without allocating:
+	 * {@code for (int c = firstLive(); c >= 0; c = nextLive(c))}. Ships
+	 * destroyed during the walk are skipped from then on.
+	 *
+	 * @return Cursor, or -1 if no ship is alive.
+	 */
+	public final int firstLive() {
+		return nextLive(-1);
+	}
 
-			EnemyShip nextShooter = getNextShooter(this.enemyShips
-					.get(destroyedShipColumnIndex));
+	/**
+	 * Moves a cursor to the next ship still alive.
+	 *
+	 * @param cursor
+	 *            Current cursor.
+	 * @return Next cursor, or -1 after the last live ship.
+	 */
+	public final int nextLive(final int cursor) {
+		int from = cursor + 1;
+		int column = from / this.nShipsHigh;
+		int row = from % this.nShipsHigh;
+		while (column < this.nShipsWide) {
+			long mask = this.aliveMasks[column] & (-1L << row);
+			if (mask != 0)
+				return index(column, Long.numberOfTrailingZeros(mask));
+			column++;
+			row = 0;
+		}
+		return -1;
+	}
 
-			if (nextShooter != null)
-				this.shooters.set(destroyedShipIndex, nextShooter);
-			else {
-				this.shooters.remove(destroyedShipIndex);
-				this.logger.info("Shooters list reduced to "
-						+ this.shooters.size() + " members.");
+	/**
+	 * Returns the ship under a cursor.
+	 *
+	 * @param cursor
+	 *            Cursor from {@link #firstLive()} or a query.
+	 * @return Ship under the cursor.
+	 */
+	public final EnemyShip shipAt(final int cursor) {
+		return this.enemyShips[cursor];
+	}
+
+	/**
+	 * Returns a cursor on the first live ship overlapping a box. Use
+	 * {@link #nextOverlapping(int, int, int, int, int)} to go on.
+	 *
+	 * @param x
+	 *            Left side of the box.
+	 * @param y
+	 *            Upper side of the box.
+	 * @param width
+	 *            Width of the box.
+	 * @param height
+	 *            Height of the box.
+	 * @return Cursor, or -1 if no live ship overlaps the box.
+	 */
+	public final int firstOverlapping(final int x, final int y,
+			final int width, final int height) {
+		return nextOverlapping(-1, x, y, width, height);
+	}
+
+	/**
+	 * Moves a cursor to the next live ship overlapping a box. Ships sit on
+	 * a regular grid, so the columns and rows the box can touch are worked
+	 * out from its position and only those cells are looked at.
+	 *
+	 * @param cursor
+	 *            Current cursor.
+	 * @param x
+	 *            Left side of the box.
+	 * @param y
+	 *            Upper side of the box.
+	 * @param width
+	 *            Width of the box.
+	 * @param height
+	 *            Height of the box.
+	 * @return Next cursor, or -1 if no further live ship overlaps the box.
+	 */
+	public final int nextOverlapping(final int cursor, final int x,
+			final int y, final int width, final int height) {
+		// Cells whose ship would overlap the box, clamped to the grid.
+		int firstColumn = Math.max(0, Math.floorDiv(x - this.originX
+				- this.shipWidth, SEPARATION_DISTANCE) + 1);
+		int lastColumn = Math.min(this.nShipsWide - 1, Math.floorDiv(x
+				+ width - 1 - this.originX, SEPARATION_DISTANCE));
+		int firstRow = Math.max(0, Math.floorDiv(y - this.originY
+				- this.shipHeight, SEPARATION_DISTANCE) + 1);
+		int lastRow = Math.min(this.nShipsHigh - 1, Math.floorDiv(y
+				+ height - 1 - this.originY, SEPARATION_DISTANCE));
+		if (firstColumn > lastColumn || firstRow > lastRow)
+			return -1;
+		long rowMask = (-1L << firstRow) & (-1L >>> (Long.SIZE - 1 - lastRow));
+
+		int from = cursor + 1;
+		int column = Math.max(firstColumn, from / this.nShipsHigh);
+		long skipMask = column == from / this.nShipsHigh
+				? -1L << (from % this.nShipsHigh) : -1L;
+		for (; column <= lastColumn; column++, skipMask = -1L) {
+			long mask = this.aliveMasks[column] & rowMask & skipMask;
+			while (mask != 0) {
+				int c = index(column, Long.numberOfTrailingZeros(mask));
+				EnemyShip ship = this.enemyShips[c];
+				if (ship.getPositionX() < x + width
+						&& x < ship.getPositionX() + ship.getWidth()
+						&& ship.getPositionY() < y + height
+						&& y < ship.getPositionY() + ship.getHeight())
+					return c;
+				mask &= mask - 1;
 			}
 		}
+		return -1;
 	}
 
 	/**
-	 * Gets the ship on a given column that will be in charge of shooting.
+	 * Getter for the number of columns.
+	 *
+	 * @return Ships in the formation, horizontally.
+	 */
+	public final int getColumns() {
+		return this.nShipsWide;
+	}
+
+	/**
+	 * Getter for the number of rows.
+	 *
+	 * @return Ships in the formation, vertically.
+	 */
+	public final int getRows() {
+		return this.nShipsHigh;
+	}
+
+	/**
+	 * Returns the ship at a place of the formation if it is still alive.
 	 *
 	 * @param column
-	 *            Column to search.
-	 * @return New shooter ship.
+	 *            Column of the ship.
+	 * @param row
+	 *            Row of the ship.
+	 * @return Ship, or null if removed or destroyed.
 	 */
-	public final EnemyShip getNextShooter(final List<EnemyShip> column) {
-		Iterator<EnemyShip> iterator = column.iterator();
-		EnemyShip nextShooter = null;
-		while (iterator.hasNext()) {
-			EnemyShip checkShip = iterator.next();
-			if (checkShip != null && !checkShip.isDestroyed())
-				nextShooter = checkShip;
-		}
+	public final EnemyShip getAliveShip(final int column, final int row) {
+		if ((this.aliveMasks[column] & (1L << row)) == 0)
+			return null;
+		return this.enemyShips[index(column, row)];
+	}
 
-		return nextShooter;
+	/**
+	 * Counts the ships still alive in a block of the formation.
+	 *
+	 * @param column
+	 *            Left column of the block.
+	 * @param row
+	 *            Upper row of the block.
+	 * @param columns
+	 *            Width of the block, in columns.
+	 * @param rows
+	 *            Height of the block, in rows.
+	 * @return Ships alive in the block.
+	 */
+	public final int countAlive(final int column, final int row,
+			final int columns, final int rows) {
+		long rowMask = (rows >= Long.SIZE ? -1L : (1L << rows) - 1) << row;
+		int count = 0;
+		for (int i = column; i < Math.min(column + columns, this.nShipsWide); i++)
+			count += Long.bitCount(this.aliveMasks[i] & rowMask);
+		return count;
 	}
 
 	/**
@@ -517,13 +774,51 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	 */
 	@Override
 	public final Iterator<EnemyShip> iterator() {
-		Set<EnemyShip> enemyShipsList = new HashSet<EnemyShip>();
+		return new Iterator<EnemyShip>() {
+			/** Index of the next ship. */
+			private int next = skipRemoved(0);
+
+			@Override
+			public boolean hasNext() {
+				return this.next < enemyShips.length;
+			}
 
-		for (List<EnemyShip> column : this.enemyShips)
-			for (EnemyShip enemyShip : column)
-				enemyShipsList.add(enemyShip);
+			@Override
+			public EnemyShip next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				EnemyShip enemyShip = enemyShips[this.next];
+				this.next = skipRemoved(this.next + 1);
+				return enemyShip;
+			}
+		};
+	}
+
+	/**
+	 * Finds the first ship not removed from the formation.
+	 *
+	 * @param from
+	 *            Index to start at.
+	 * @return Index of the ship, or the array length if there is none.
+	 */
+	private int skipRemoved(final int from) {
+		int i = from;
+		while (i < this.enemyShips.length && this.enemyShips[i] == null)
+			i++;
+		return i;
+	}
 
-		return enemyShipsList.iterator();
+	/**
+	 * Index of a place of the formation in the ship array.
+	 *
+	 * @param column
+	 *            Column of the ship.
+	 * @param row
+	 *            Row of the ship.
+	 * @return Array index.
+	 */
+	private int index(final int column, final int row) {
+		return column * this.nShipsHigh + row;
 	}
 
 	/**
@@ -539,6 +834,4 @@ public class EnemyShipFormation implements Iterable<EnemyShip> {
 	public int getPoint(){return point; }
 
 	public int getDistroyedship(){return distroyedship; }
-
-	public List<List<EnemyShip>> getEnemyShips() {return enemyShips; }
 }
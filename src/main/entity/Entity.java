@@ -2,10 +2,14 @@ package entity;
 
 import java.awt.Color;
 
+import engine.GameClock;
 import engine.DrawManager.SpriteType;
 
 /**
- * Implements a generic game entity.
+ * Implements a generic game entity. Every entity records when it was
+ * created and can be given an expiry time, both on the game clock, so
+ * spawn grace periods and timed removals need no thread or cooldown of
+ * their own.
  * 
  * @author <a href="mailto:RobertoIA1987@gmail.com">Roberto Izquierdo Amo</a>
  * 
@@ -24,6 +28,10 @@ public class Entity {
 	private Color color;
 	/** Sprite type assigned to the entity. */
 	protected SpriteType spriteType;
+	/** Game time the entity was created at, in milliseconds. */
+	private final long spawnTime;
+	/** Game time the entity expires at, in milliseconds, 0 if never. */
+	private long expiryTime;
 
 	/**
 	 * Constructor, establishes the entity's generic properties.
@@ -46,6 +54,36 @@ public class Entity {
 		this.width = width;
 		this.height = height;
 		this.color = color;
+		this.spawnTime = GameClock.currentTimeMillis();
+	}
+
+	/**
+	 * Getter for the time since the entity was created.
+	 *
+	 * @return Age of the entity, in milliseconds of game time.
+	 */
+	public final long getAge() {
+		return GameClock.currentTimeMillis() - this.spawnTime;
+	}
+
+	/**
+	 * Makes the entity expire some time from now.
+	 *
+	 * @param milliseconds
+	 *            Game time left before the entity expires.
+	 */
+	public final void expireIn(final int milliseconds) {
+		this.expiryTime = GameClock.currentTimeMillis() + milliseconds;
+	}
+
+	/**
+	 * Checks if the expiry time of the entity has passed.
+	 *
+	 * @return True if the entity was given an expiry time and it passed.
+	 */
+	public final boolean isExpired() {
+		return this.expiryTime != 0
+				&& GameClock.currentTimeMillis() >= this.expiryTime;
 	}
 
 	/**
@@ -91,7 +129,7 @@ public class Entity {
 	 * @param positionX
 	 *            New position of the entity in the X axis.
 	 */
-	public final void setPositionX(final int positionX) {
+	public void setPositionX(final int positionX) {
 		this.positionX = positionX;
 	}
 
@@ -101,7 +139,7 @@ public class Entity {
 	 * @param positionY
 	 *            New position of the entity in the Y axis.
 	 */
-	public final void setPositionY(final int positionY) {
+	public void setPositionY(final int positionY) {
 		this.positionY = positionY;
 	}
 
@@ -110,7 +148,7 @@ public class Entity {
 	 * 
 	 * @return Sprite corresponding to the entity.
 	 */
-	public final SpriteType getSpriteType() {
+	public SpriteType getSpriteType() {
 		return this.spriteType;
 	}
 
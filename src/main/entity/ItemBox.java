@@ -19,8 +19,8 @@ import java.awt.*;
  *
  */
 public class ItemBox extends Entity {
-    /** Check if it was dropped right now. */
-    private boolean droppedRightNow;
+    /** Time after the drop during which bullets go through, in milliseconds. */
+    private static final int SPAWN_GRACE = 100;
 
     /** Initialize singleton instance of SoundManager and return that */
     private static final SoundManager soundManager = SoundManager.getInstance();
@@ -35,27 +35,17 @@ public class ItemBox extends Entity {
     public ItemBox(int positionX, int positionY, final float balance) {
         super(positionX, positionY, 7 * 2, 7 * 2, Color.YELLOW);
         this.spriteType = SpriteType.ItemBox;
-        this.droppedRightNow = true;
         soundManager.playSound(Sound.ITEM_SPAWN, balance);
-
-        // Prevents being hit by bullets immediately after being created.
-        new Thread(() -> {
-            try {
-                Thread.sleep(100);
-                this.droppedRightNow = false;
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-        }).start();
     }
 
     /**
-     * Checks if it was dropped right now.
+     * Checks if it was dropped right now, to prevent being hit by bullets
+     * immediately after being created.
      *
      * @return True when it was dropped right now.
      */
     public boolean isDroppedRightNow() {
-        return this.droppedRightNow;
+        return getAge() < SPAWN_GRACE;
     }
 
     public int getPositionX() {return positionX;}
@@ -1,10 +1,10 @@
 package entity;
 
 import java.awt.Color;
-import java.util.Set;
 
 import engine.Cooldown;
 import engine.Core;
+import engine.GameClock;
 import engine.DrawManager.SpriteType;
 import engine.Sound;
 import engine.SoundManager;
@@ -136,52 +136,70 @@ public abstract class Ship extends Entity {
 	 * Shoots a bullet upwards.
 	 * 
 	 * @param bullets
-	 *            List of bullets on screen, to add the new bullet.
-	 * @return Checks if the bullet was shot correctly.
+	 *            Bullets on screen, to add the new bullet.
+	 * @return Number of bullets shot, 0 if none was.
 	 */
-	public final boolean shoot(final Set<Bullet> bullets, int shotNum) {
+	public final int shoot(final BulletStore bullets, int shotNum) {
 		return shoot(bullets, shotNum, 0.0f);
 	}
 
 	/**
 	 * bullet sound (2-players)
 	 * @param bullets
-	 *          List of bullets on screen, to add the new bullet.
+	 *          Bullets on screen, to add the new bullet.
 	 * @param balance
 	 * 			1p -1.0, 2p 1.0, both 0.0
 	 * @param shotNum
 	 * 			Upgraded shot.
 	 *
-	 * @return Checks if the bullet was shot correctly.
+	 * @return Number of bullets shot, 0 if none was. Bullets refused by the
+	 *         bullet cap are not counted, and if all of them were the shot
+	 *         neither sounds nor uses up the cooldown.
 	 */
-	public final boolean shoot(final Set<Bullet> bullets, int shotNum, float balance) {
-		if (this.shootingCooldown.checkFinished()) {
+	public final int shoot(final BulletStore bullets, int shotNum, float balance) {
+		if (!this.shootingCooldown.checkFinished())
+			return 0;
 
+		int shot = 0;
+		Sound sound = null;
+		switch (shotNum) {
+			case 1:
+				shot += addBullet(bullets, positionX + this.width / 2);
+				sound = Sound.PLAYER_LASER;
+				break;
+			case 2:
+				shot += addBullet(bullets, positionX + this.width);
+				shot += addBullet(bullets, positionX);
+				sound = Sound.ITEM_2SHOT;
+				break;
+			case 3:
+				shot += addBullet(bullets, positionX + this.width);
+				shot += addBullet(bullets, positionX);
+				shot += addBullet(bullets, positionX + this.width / 2);
+				sound = Sound.ITEM_3SHOT;
+				break;
+		}
+
+		if (shot > 0) {
 			this.shootingCooldown.reset();
-			this.lastShootTime = System.currentTimeMillis();
-
-			switch (shotNum) {
-				case 1:
-					bullets.add(BulletPool.getBullet(positionX + this.width / 2, positionY, this.getBulletSpeed()));
-					soundManager.playSound(Sound.PLAYER_LASER, balance);
-					break;
-				case 2:
-					bullets.add(BulletPool.getBullet(positionX + this.width, positionY, this.getBulletSpeed()));
-					bullets.add(BulletPool.getBullet(positionX, positionY, this.getBulletSpeed()));
-					soundManager.playSound(Sound.ITEM_2SHOT, balance);
-					break;
-				case 3:
-					bullets.add(BulletPool.getBullet(positionX + this.width, positionY, this.getBulletSpeed()));
-					bullets.add(BulletPool.getBullet(positionX, positionY, this.getBulletSpeed()));
-					bullets.add(BulletPool.getBullet(positionX + this.width / 2, positionY, this.getBulletSpeed()));
-					soundManager.playSound(Sound.ITEM_3SHOT, balance);
-					break;
-			}
-
-			return true;
+			this.lastShootTime = GameClock.currentTimeMillis();
+			soundManager.playSound(sound, balance);
 		}
+		return shot;
+	}
 
-		return false;
+	/**
+	 * Adds a player bullet at the upper side of the ship.
+	 *
+	 * @param bullets
+	 *            Bullets on screen.
+	 * @param centerX
+	 *            Position of the center of the bullet in the X axis.
+	 * @return 1 if the bullet was added, 0 if the bullet cap refused it.
+	 */
+	private int addBullet(final BulletStore bullets, final int centerX) {
+		return bullets.add(centerX, positionY, this.getBulletSpeed(),
+				BulletStore.PLAYER) < 0 ? 0 : 1;
 	}
 
 	/**
@@ -237,7 +255,7 @@ public abstract class Ship extends Entity {
 	}
 
 	public long getRemainingReloadTime(){
-		long currentTime = System.currentTimeMillis();
+		long currentTime = GameClock.currentTimeMillis();
 		long elapsedTime = currentTime - this.lastShootTime;
 		long remainingTime = this.getShootingInterval() - elapsedTime;
 		return remainingTime > 0 ? remainingTime : 0;
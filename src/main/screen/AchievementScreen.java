@@ -89,7 +89,6 @@ public class AchievementScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
 		if (inputManager.isKeyDown(KeyEvent.VK_ESCAPE)
 				&& this.inputDelay.checkFinished()) {
 			this.isRunning = false;
@@ -100,7 +99,7 @@ public class AchievementScreen extends Screen {
 	/**
 	 * Draws the elements associated with the screen.
 	 */
-	private void draw() {
+	protected final void draw() {
 		drawManager.initDrawing(this);
 		drawManager.drawAchievementMenu(this, this.totalScore, this.totalPlayTime,
 				this.maxCombo, this.currentPerfectStage, this.currentPerfectStage+1,
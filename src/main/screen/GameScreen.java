@@ -4,17 +4,16 @@ import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.Iterator;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.concurrent.Callable;
-import java.util.Timer;
-import java.util.TimerTask;
 
 
 import engine.*;
+import engine.FrameProfiler.Phase;
 import entity.*;
 
 
@@ -40,6 +39,36 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	private static final int SCREEN_CHANGE_INTERVAL = 1500;
 	/** Height of the interface separation line. */
 	private static final int SEPARATION_LINE_HEIGHT = 40;
+	/** Size of the reload timer drawn above the ship. */
+	private static final int RELOAD_TIMER_SIZE = 16;
+	/** Collision grid kind of the blocks. */
+	private static final int GRID_BLOCK = 0;
+	/** Collision grid kind of the barriers. */
+	private static final int GRID_BARRIER = 1;
+	/** Collision grid kind of the item boxes. */
+	private static final int GRID_ITEM_BOX = 2;
+	/** Collision event of an enemy bullet hitting the player ship. */
+	private static final int EVENT_SHIP_HIT = 0;
+	/** Collision event of an enemy bullet hitting a barrier. */
+	private static final int EVENT_BARRIER_HIT = 1;
+	/** Collision event of a player bullet hitting a formation ship. */
+	private static final int EVENT_ENEMY_HIT = 2;
+	/** Collision event of a player bullet hitting the special ship. */
+	private static final int EVENT_SPECIAL_HIT = 3;
+	/** Collision event of a player bullet checked for a missed shot. */
+	private static final int EVENT_SHOT_CHECK = 4;
+	/** Collision event of a player bullet hitting an item box. */
+	private static final int EVENT_ITEM_BOX_HIT = 5;
+	/** Collision event of a player bullet hitting a block. */
+	private static final int EVENT_BLOCK_HIT = 6;
+	/** Collision events a tick holds before the ring grows. */
+	private static final int COLLISION_EVENTS = 64;
+	/** Milliseconds without a hit before the combo is lost. */
+	private static final int COMBO_RESET_DELAY = 3000;
+	/** Slots of the timer wheel, one per tick. */
+	private static final int TIMER_SLOTS = 256;
+	/** Timers pending at once before the timer wheel grows. */
+	private static final int TIMER_CAPACITY = 8;
 
 	/** Current game difficulty settings. */
 	private GameSettings gameSettings;
@@ -53,12 +82,10 @@ public class GameScreen extends Screen implements Callable<GameState> {
     private EnemyShip enemyShipSpecial;
 	/** Minimum time between bonus ship appearances. */
     private Cooldown enemyShipSpecialCooldown;
-	/** Time until bonus ship explosion disappears. */
-	private Cooldown enemyShipSpecialExplosionCooldown;
 	/** Time from finishing the level to screen change. */
 	private Cooldown screenFinishedCooldown;
-	/** Set of all bullets fired by on screen ships. */
-	private Set<Bullet> bullets;
+	/** All bullets fired by on screen ships. */
+	private BulletStore bullets;
 	/** Present score */
 	private int score;
 	/** tempScore records the score up to the previous level. */
@@ -83,6 +110,8 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	private boolean bonusLife;
 	/** Player number for two player mode **/
 	private int playerNumber;
+	/** Draws the recorded frames in single player mode, while running. */
+	private RenderThread renderThread;
 	/** list of highScores for find recode. */
 	private List<Score>highScores;
 	/** Elapsed time while playing this game.
@@ -95,9 +124,12 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	private String alertMessage;
 	/** checks if it's executed. */
   	private boolean isExecuted = false;
-	/** timer.. */
-	private Timer timer;
-	private TimerTask timerTask;
+	/** Delayed actions of the level, advanced once per tick. */
+	private TimerWheel timers;
+	/** Timer resetting the combo. */
+	private int comboTimer = TimerWheel.NONE;
+	/** Resets the combo, run by the combo timer. */
+	private final Runnable resetCombo = () -> this.combo = 0;
 	/** Spider webs restricting player movement */
 	private List<Web> web;
 	/**
@@ -114,6 +146,14 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	private Set<ItemBox> itemBoxes;
 	/** Barriers appear in game screen. */
 	private Set<Barrier> barriers;
+	/** Broadphase of the bullet collisions with blocks, barriers and boxes. */
+	private SpatialGrid collisionGrid;
+	/** Collisions found by the detection pass, answered after it. */
+	private CollisionQueue collisionEvents;
+	/** Bullets whose box overlaps the player ship, by bullet index. */
+	private boolean[] shipCandidates = new boolean[0];
+	/** Bullets whose box overlaps the special ship, by bullet index. */
+	private boolean[] specialCandidates = new boolean[0];
 	/** Sound balance for each player*/
 	private float balance = 0.0f;
 
@@ -207,9 +247,12 @@ public class GameScreen extends Screen implements Callable<GameState> {
 			createBlocks();
 			setCooldown();
 			setSoundManager();
-			this.bullets = new HashSet<>();
+			this.bullets = new BulletStore();
 			this.barriers = new HashSet<>();
 			this.itemBoxes = new HashSet<>();
+			this.collisionGrid = new SpatialGrid(this.width, this.height);
+			this.collisionEvents = new CollisionQueue(COLLISION_EVENTS);
+			this.timers = new TimerWheel(TIMER_SLOTS, TIMER_CAPACITY);
 			this.itemManager = new ItemManager(this.ship, this.enemyShipFormation, this.barriers, this.height, this.width, this.balance);
 
 		}
@@ -280,10 +323,8 @@ public class GameScreen extends Screen implements Callable<GameState> {
 		this.enemyShipSpecialCooldown = Core.getVariableCooldown(
 				BONUS_SHIP_INTERVAL, BONUS_SHIP_VARIANCE);
 		this.enemyShipSpecialCooldown.reset();
-		this.enemyShipSpecialExplosionCooldown = Core
-				.getCooldown(BONUS_SHIP_EXPLOSION);
 		this.screenFinishedCooldown = Core.getCooldown(SCREEN_CHANGE_INTERVAL);
-		this.gameStartTime = System.currentTimeMillis();
+		this.gameStartTime = GameClock.currentTimeMillis();
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 	}
@@ -330,13 +371,75 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	 * @return Next screen code.
 	 */
 	public final int run() {
-		super.run();
+		if (this.playerNumber < 0) {
+			this.renderThread = new RenderThread(drawManager, this);
+			this.renderThread.start();
+		}
+		try {
+			super.run();
+		} finally {
+			stopRenderThread();
+		}
+		settleScore();
+		closeBullets();
+
+		return this.returnCode;
+	}
+
+	/**
+	 * Runs the level headless, see {@link Screen#simulate(long)}. The final
+	 * score is settled once the level finishes.
+	 *
+	 * @param maxTicks
+	 *            Upper bound of ticks to run.
+	 * @return Number of ticks actually run.
+	 */
+	@Override
+	public final long simulate(final long maxTicks) {
+		long ran = super.simulate(maxTicks);
+		if (!this.isRunning) {
+			settleScore();
+			closeBullets();
+		}
 
+		return ran;
+	}
+
+	/**
+	 * Waits for the frames in flight to be drawn and stops the render
+	 * thread, so the next screen draws on an idle draw manager.
+	 */
+	private void stopRenderThread() {
+		if (this.renderThread == null)
+			return;
+		try {
+			this.renderThread.shutdown();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.renderThread = null;
+	}
+
+	/**
+	 * Adds the end of level bonuses to the score.
+	 */
+	private void settleScore() {
 		this.score += LIFE_SCORE * (this.lives - 1);
 		if(this.lives == 0) this.score += 100;
 		this.logger.info("Screen cleared with a score of " + this.score);
+	}
 
-		return this.returnCode;
+	/**
+	 * Closes the bullet store of the level and logs its counters.
+	 */
+	private void closeBullets() {
+		this.bullets.close();
+		this.logger.info("Bullets: " + this.bullets.getHits() + " reused, "
+				+ this.bullets.getMisses() + " allocated, "
+				+ this.bullets.getRejected() + " refused, peak "
+				+ this.bullets.getPeakSize() + " of "
+				+ this.bullets.getCapacity() + " slots, "
+				+ this.bullets.getLeaked() + " left over.");
 	}
 
 	/**
@@ -344,34 +447,61 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	 */
 	protected final void update() {
 		super.update();
-
+		this.timers.advance();
+		updateIntermediateAggregation();
 
 		if (this.inputDelay.checkFinished() && !this.levelFinished) {
+			long phaseStart = FrameProfiler.start();
 			handlePlayerActions();
+			FrameProfiler.end(Phase.PLAYER_ACTIONS, phaseStart);
+
+			phaseStart = FrameProfiler.start();
 			updateShipStatus();
+			FrameProfiler.end(Phase.SHIP_STATUS, phaseStart);
+
 			updateElapsedTime();
+
+			phaseStart = FrameProfiler.start();
 			updateEnemiesAndBullets();
+			FrameProfiler.end(Phase.ENEMIES_AND_BULLETS, phaseStart);
+
 			handleEnemyShipSpecial();
 		}
 
-
+			long phaseStart = FrameProfiler.start();
 		    manageCollisions();
+			FrameProfiler.end(Phase.COLLISIONS, phaseStart);
+
+			phaseStart = FrameProfiler.start();
 			cleanBullets();
+			FrameProfiler.end(Phase.CLEAN_BULLETS, phaseStart);
 
 			checkLevelCompletion();
-
-			if (playerNumber >= 0)
-				drawThread();
-			else
-				draw();
 		}
 
 
+	/**
+	 * Resets the max combo and keeps the lap time and score of the previous
+	 * level once the countdown reaches zero. Done here rather than while
+	 * drawing, so a headless run ends with the same game state.
+	 */
+	private void updateIntermediateAggregation() {
+		if (this.level <= 1 || this.inputDelay.checkFinished())
+			return;
+		int countdown = (int) ((INPUT_DELAY - (GameClock.currentTimeMillis() - this.gameStartTime)) / 1000);
+		if (countdown == 0) {
+			//Reset max combo and edit temporary values
+			this.lapTime = this.elapsedTime;
+			this.tempScore = this.score;
+			this.maxCombo = 0;
+		}
+	}
+
 	private void handleEnemyShipSpecial() {
 		if (this.enemyShipSpecial != null) {
 			if (!this.enemyShipSpecial.isDestroyed())
 				this.enemyShipSpecial.move(2, 0);
-			else if (this.enemyShipSpecialExplosionCooldown.checkFinished())
+			else if (this.enemyShipSpecial.isExpired())
 				this.enemyShipSpecial = null;
 
 		}
@@ -467,7 +597,7 @@ public class GameScreen extends Screen implements Callable<GameState> {
 
 	private void updateElapsedTime() {
 		/*Elapsed Time Update*/
-		long currentTime = System.currentTimeMillis();
+		long currentTime = GameClock.currentTimeMillis();
 
 		if (this.prevTime != null)
 			this.elapsedTime += (int) (currentTime - this.prevTime);
@@ -476,13 +606,11 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	}
 
 	private void shotIfPossible(int shotNum){
-		if (this.ship.shoot(this.bullets, shotNum))
-			this.bulletsShot += shotNum;
+		this.bulletsShot += this.ship.shoot(this.bullets, shotNum);
 	}
 
 	private void shotIfPossible(int shotNum, float balance){
-		if (this.ship.shoot(this.bullets, shotNum, balance)) // Player 1 attack
-			this.bulletsShot += this.itemManager.getShotNum();
+		this.bulletsShot += this.ship.shoot(this.bullets, shotNum, balance); // Player 1 attack
 	}
 
 	private void handlePlayerActions() {
@@ -561,74 +689,83 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	/**
 	 * Draws the elements associated with the screen.
 	 */
-	private void draw() {
-		drawManager.initDrawing(this);
-		drawManager.drawGameTitle(this);
+	protected final void draw() {
+		long phaseStart = FrameProfiler.start();
+		if (playerNumber >= 0)
+			drawThread();
+		else
+			drawScreen();
+		FrameProfiler.end(Phase.DRAW, phaseStart);
+	}
+
+	/**
+	 * Records the frame and hands it to the render thread.
+	 */
+	private void drawScreen() {
+		RenderCommands commands = this.renderThread.getCommands();
+		// The title is part of the retained background.
+		commands.initRetainedDrawing();
 		//draw entities.
-		drawManager.drawEntity(this.ship, this.ship.getPositionX(), this.ship.getPositionY());
+		commands.drawEntity(this.ship, this.ship.getPositionX(), this.ship.getPositionY());
 
-		drawManager.drawEntities(itemBoxes);
-		drawManager.drawEntities(barriers);
-		drawManager.drawEntities(bullets);
-		drawManager.drawEntities(blocks);
+		commands.drawEntities(itemBoxes);
+		commands.drawEntities(barriers);
+		commands.drawBullets(this.bullets);
+		commands.drawEntities(blocks);
 
 		for (int i = 0; i < web.size(); i++) {
-			drawManager.drawEntity(this.web.get(i), this.web.get(i).getPositionX(),
+			commands.drawEntity(this.web.get(i), this.web.get(i).getPositionX(),
 					this.web.get(i).getPositionY());
 		}
 
 		if (this.enemyShipSpecial != null)
-			drawManager.drawEntity(this.enemyShipSpecial,
+			commands.drawEntity(this.enemyShipSpecial,
 					this.enemyShipSpecial.getPositionX(),
 					this.enemyShipSpecial.getPositionY());
 
-		enemyShipFormation.draw();
-
-
+		enemyShipFormation.draw(commands);
 
+		// Drawn directly over the sprites every frame.
+		commands.markDirty(0, 0, this.width, HudLayer.HEIGHT);
+		commands.markDirty(this.ship.getPositionX() + this.ship.getWidth() / 2
+				- RELOAD_TIMER_SIZE / 2 - 1, this.ship.getPositionY()
+				- 3 * RELOAD_TIMER_SIZE / 2 - 1, RELOAD_TIMER_SIZE + 2,
+				RELOAD_TIMER_SIZE + 2);
+		commands.resolveRetainedDrawing(!this.inputDelay.checkFinished());
 
 		// Interface.
-		drawManager.drawScore(this, this.score);
-		drawManager.drawElapsedTime(this, this.elapsedTime);
-		drawManager.drawAlertMessage(this, this.alertMessage);
-		drawManager.drawLives(this, this.lives, this.shipType);
-		drawManager.drawLevel(this, this.level);
-		drawManager.drawHorizontalLine(this, SEPARATION_LINE_HEIGHT - 1);
-		drawManager.drawReloadTimer(this,this.ship,ship.getRemainingReloadTime());
-		drawManager.drawCombo(this,this.combo);
+		commands.drawInterface(SEPARATION_LINE_HEIGHT - 1, this.score,
+				this.elapsedTime, this.alertMessage, this.lives, this.shipType,
+				this.level, this.combo);
+		commands.drawReloadTimer(this.ship, ship.getRemainingReloadTime());
 
         //handle countdown.
-		handleCountDown();
+		handleCountDown(commands);
 
 
 
-		drawManager.completeDrawing(this);
+		commands.completeDrawing();
+		try {
+			this.renderThread.submit();
+		} catch (InterruptedException e) {
+			// The frame pacer sees the interrupt and ends the screen.
+			Thread.currentThread().interrupt();
+		}
 	}
 
-	private void handleCountDown() {
+	private void handleCountDown(final RenderCommands commands) {
 		// Countdown to game start.
 		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY - (System.currentTimeMillis() - this.gameStartTime)) / 1000);
-			drawManager.drawCountDown(this, this.level, countdown, this.bonusLife);
-			drawManager.drawHorizontalLine(this, this.height / 2 - this.height / 12);
-			drawManager.drawHorizontalLine(this, this.height / 2 + this.height / 12);
+			int countdown = (int) ((INPUT_DELAY - (GameClock.currentTimeMillis() - this.gameStartTime)) / 1000);
+			commands.drawCountDown(this.level, countdown, this.bonusLife);
+			commands.drawHorizontalLine(this.height / 2 - this.height / 12);
+			commands.drawHorizontalLine(this.height / 2 + this.height / 12);
 
 			//Intermediate aggregation
-			if (this.level > 1){
-				if (countdown == 0) {
-					//Reset mac combo and edit temporary values
-					this.lapTime = this.elapsedTime;
-					this.tempScore = this.score;
-					this.maxCombo = 0;
-				} else {
-					// Don't show it just before the game starts, i.e. when the countdown is zero.
-					drawManager.interAggre(this, this.level - 1, this.maxCombo, this.elapsedTime, this.lapTime, this.score, this.tempScore);
-				}
-			}
+			// Don't show it just before the game starts, i.e. when the countdown is zero.
+			if (this.level > 1 && countdown != 0)
+				commands.interAggre(this.level - 1, this.maxCombo, this.elapsedTime, this.lapTime, this.score, this.tempScore);
 		}
-
-
-		drawManager.completeDrawing(this);
 	}
 
 	/**
@@ -664,19 +801,13 @@ public class GameScreen extends Screen implements Callable<GameState> {
 		for (Barrier barrier : this.barriers)
 			drawManager.drawEntity(barrier, barrier.getPositionX(), barrier.getPositionY(), playerNumber);
 
-		for (Bullet bullet : this.bullets)
-			drawManager.drawEntity(bullet, bullet.getPositionX(),
-					bullet.getPositionY(), playerNumber);
+		drawManager.drawBullets(this.bullets, playerNumber);
 
 		// Interface.
-		drawManager.drawScore(this, this.score, playerNumber);
-		drawManager.drawElapsedTime(this, this.elapsedTime, playerNumber);
-		drawManager.drawAlertMessage(this, this.alertMessage, playerNumber);
-		drawManager.drawLives(this, this.lives, this.shipType, playerNumber);
-		drawManager.drawLevel(this, this.level, playerNumber);
-		drawManager.drawHorizontalLine(this, SEPARATION_LINE_HEIGHT - 1, playerNumber);
+		drawManager.drawInterface(this, SEPARATION_LINE_HEIGHT - 1, this.score,
+				this.elapsedTime, this.alertMessage, this.lives, this.shipType,
+				this.level, this.combo, playerNumber);
 		drawManager.drawReloadTimer(this,this.ship,ship.getRemainingReloadTime(), playerNumber);
-		drawManager.drawCombo(this,this.combo, playerNumber);
 
 		// Show GameOver if one player ends first
 		if (this.levelFinished && this.screenFinishedCooldown.checkFinished() && this.lives <= 0) {
@@ -689,7 +820,7 @@ public class GameScreen extends Screen implements Callable<GameState> {
 
 		// Countdown to game start.
 		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY - (System.currentTimeMillis() - this.gameStartTime)) / 1000);
+			int countdown = (int) ((INPUT_DELAY - (GameClock.currentTimeMillis() - this.gameStartTime)) / 1000);
 			drawManager.drawCountDown(this, this.level, countdown,
 					this.bonusLife, playerNumber);
 			drawManager.drawHorizontalLine(this, this.height / 2 - this.height
@@ -698,17 +829,9 @@ public class GameScreen extends Screen implements Callable<GameState> {
 					/ 12, playerNumber);
 
 			//Intermediate aggregation
-			if (this.level > 1){
-				if (countdown == 0) {
-					//Reset mac combo and edit temporary values
-					this.lapTime = this.elapsedTime;
-					this.tempScore = this.score;
-					this.maxCombo = 0;
-				} else {
-					// Don't show it just before the game starts, i.e. when the countdown is zero.
-					drawManager.interAggre(this, this.level - 1, this.maxCombo, this.elapsedTime, this.lapTime, this.score, this.tempScore, playerNumber);
-				}
-			}
+			// Don't show it just before the game starts, i.e. when the countdown is zero.
+			if (this.level > 1 && countdown != 0)
+				drawManager.interAggre(this, this.level - 1, this.maxCombo, this.elapsedTime, this.lapTime, this.score, this.tempScore, playerNumber);
 		}
 
 		//add drawRecord method for drawing
@@ -728,20 +851,13 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	// 카운트다운 처리
 	private void handleThreadCountDown() {
 		if (!this.inputDelay.checkFinished()) {
-			int countdown = (int) ((INPUT_DELAY - (System.currentTimeMillis() - this.gameStartTime)) / 1000);
+			int countdown = (int) ((INPUT_DELAY - (GameClock.currentTimeMillis() - this.gameStartTime)) / 1000);
 			drawManager.drawCountDown(this, this.level, countdown, this.bonusLife, playerNumber);
 			drawManager.drawHorizontalLine(this, this.height / 2 - this.height / 12, playerNumber);
 			drawManager.drawHorizontalLine(this, this.height / 2 + this.height / 12, playerNumber);
 
-			if (this.level > 1) {
-				if (countdown == 0) {
-					this.lapTime = this.elapsedTime;
-					this.tempScore = this.score;
-					this.maxCombo = 0;
-				} else {
-					drawManager.interAggre(this, this.level - 1, this.maxCombo, this.elapsedTime, this.lapTime, this.score, this.tempScore, playerNumber);
-				}
-			}
+			if (this.level > 1 && countdown != 0)
+				drawManager.interAggre(this, this.level - 1, this.maxCombo, this.elapsedTime, this.lapTime, this.score, this.tempScore, playerNumber);
 		}
 
 		drawManager.flushBuffer(this, playerNumber);
@@ -751,182 +867,284 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	 * Cleans bullets that go off screen.
 	 */
 	private void cleanBullets() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
-		for (Bullet bullet : this.bullets) {
-			bullet.update();
-			if (bullet.getPositionY() < SEPARATION_LINE_HEIGHT
-					|| bullet.getPositionY() > this.height)
-				recyclable.add(bullet);
-		}
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
+		this.bullets.update();
+		this.bullets.cull(SEPARATION_LINE_HEIGHT, this.height);
 	}
 
 	/**
 	 * Manages collisions between bullets and ships.
 	 */
 	private void manageCollisions() {
-		Set<Bullet> recyclable = new HashSet<Bullet>();
 		if (isExecuted == false){
 			isExecuted = true;
-			timer = new Timer();
-			timerTask = new TimerTask() {
-				public void run() {
-					combo = 0;
-				}
-			};
-			timer.schedule(timerTask, 3000);
+			this.comboTimer = this.timers.schedule(
+					COMBO_RESET_DELAY * this.fps / 1000, this.resetCombo);
 		}
 
 
-		for (Bullet bullet : this.bullets) {
+		buildCollisionGrid();
+
+		// Single targets are tested against every bullet in one batch.
+		int bulletCount = this.bullets.size();
+		if (this.shipCandidates.length < bulletCount) {
+			this.shipCandidates = new boolean[Math.max(bulletCount,
+					this.shipCandidates.length * 2)];
+			this.specialCandidates = new boolean[this.shipCandidates.length];
+		}
+		boolean shipHit = this.bullets.overlapping(this.ship.getPositionX(),
+				this.ship.getPositionY(), this.ship.getWidth(),
+				this.ship.getHeight(), this.shipCandidates) > 0;
+		boolean specialHit = this.enemyShipSpecial != null
+				&& this.bullets.overlapping(this.enemyShipSpecial.getPositionX(),
+						this.enemyShipSpecial.getPositionY(),
+						this.enemyShipSpecial.getWidth(),
+						this.enemyShipSpecial.getHeight(),
+						this.specialCandidates) > 0;
+
+		for (int bullet = 0; bullet < bulletCount; bullet++) {
+			int bulletX = this.bullets.getPositionX(bullet);
+			int bulletY = this.bullets.getPositionY(bullet);
+			int candidates = this.collisionGrid.query(bulletX, bulletY,
+					BulletStore.WIDTH, BulletStore.HEIGHT);
 
 			// Enemy ship's bullets
-			if (bullet.getSpeed() > 0) {
-				shipCollision(recyclable, bullet);
+			if (this.bullets.getOwner(bullet) == BulletStore.ENEMY) {
+				if (shipHit && this.shipCandidates[bullet])
+					shipCollision(bullet);
 
 				if (this.barriers != null) {
-					barrierCollision(recyclable, bullet);
+					barrierCollision(bullet, candidates);
 				}
 
 			} else {	// Player ship's bullets
-				for (EnemyShip enemyShip : this.enemyShipFormation)
-					enemyShipCollision(recyclable, bullet, enemyShip);
-				enemyShipSpecialCollision(recyclable, bullet);
+				for (int c = this.enemyShipFormation.firstOverlapping(bulletX,
+						bulletY, BulletStore.WIDTH, BulletStore.HEIGHT); c >= 0;
+						c = this.enemyShipFormation.nextOverlapping(c, bulletX,
+								bulletY, BulletStore.WIDTH, BulletStore.HEIGHT))
+					enemyShipCollision(bullet, this.enemyShipFormation.shipAt(c));
+				if (specialHit && this.specialCandidates[bullet])
+					enemyShipSpecialCollision(bullet);
 
+				this.collisionEvents.add(EVENT_SHOT_CHECK, bullet, null);
 
-				if (this.itemManager.getShotNum() == 1 && bullet.getPositionY() < getTopEnemyY()) {
-					this.combo = 0;
-					isExecuted = true;
-				}
-
-				itemBoxCollision(recyclable, bullet);
+				itemBoxCollision(bullet, candidates);
 
-				bulletBlockCollision(recyclable, bullet);
+				bulletBlockCollision(bullet, candidates);
 			}
 		}
-		Set<Block> removableBlocks = new HashSet<>();
+		respondToCollisions();
 
-		enemyShipBlockCollision(removableBlocks);
+		// remove crashed obstacle
+		enemyShipBlockCollision();
 
+		this.bullets.removeMarked();
+	}
 
-		// remove crashed obstacle
-		blocks.removeAll(removableBlocks);
-		this.bullets.removeAll(recyclable);
-		BulletPool.recycle(recyclable);
-	}
-
-	private void shipCollision(Set<Bullet> recyclable, Bullet bullet) {
-		if (checkCollision(bullet, this.ship) && !this.levelFinished && !itemManager.isGhostActive()) {
-			recyclable.add(bullet);
-			if (!this.ship.isDestroyed()) {
-				this.ship.destroy(balance);
-				lvdamage();
-				this.logger.info("Hit on player ship, " + this.lives + " lives remaining.");
-			}
-		}
+	private void shipCollision(final int bullet) {
+		if (checkCollision(bullet, this.ship))
+			this.collisionEvents.add(EVENT_SHIP_HIT, bullet, this.ship);
 	}
 
-	private void enemyShipCollision(Set<Bullet> recyclable, Bullet bullet, EnemyShip enemyShip) {
+	private void enemyShipCollision(final int bullet, EnemyShip enemyShip) {
 		if (enemyShip != null && !enemyShip.isDestroyed()
-				&& checkCollision(bullet, enemyShip)) {
-			// Decide whether to destroy according to physical strength
-			this.enemyShipFormation.HealthManageDestroy(enemyShip, balance);
-			// If the enemy doesn't die, the combo increases;
-			// if the enemy dies, both the combo and score increase.
-			this.score += Score.comboScore(this.enemyShipFormation.getPoint(), this.combo);
-			this.shipsDestroyed += this.enemyShipFormation.getDistroyedship();
-			this.combo++;
-			this.hitBullets++;
-			if (this.combo > this.maxCombo) this.maxCombo = this.combo;
-			timer.cancel();
-			isExecuted = false;
-			recyclable.add(bullet);
-
-			if (enemyShip.getHealth() < 0 && itemManager.dropItem()) {
-				this.itemBoxes.add(new ItemBox(enemyShip.getPositionX() + 6, enemyShip.getPositionY() + 1, balance));
-				logger.info("Item box dropped");
-			}
-		}
+				&& checkCollision(bullet, enemyShip))
+			this.collisionEvents.add(EVENT_ENEMY_HIT, bullet, enemyShip);
 	}
 
-	private void enemyShipSpecialCollision(Set<Bullet> recyclable, Bullet bullet) {
+	private void enemyShipSpecialCollision(final int bullet) {
 		if (this.enemyShipSpecial != null
 				&& !this.enemyShipSpecial.isDestroyed()
-				&& checkCollision(bullet, this.enemyShipSpecial)) {
-			this.score += Score.comboScore(this.enemyShipSpecial.getPointValue(), this.combo);
-			this.shipsDestroyed++;
-			this.combo++;
-			this.hitBullets++;
-			if (this.combo > this.maxCombo) this.maxCombo = this.combo;
-			this.enemyShipSpecial.destroy(balance);
-			this.enemyShipSpecialExplosionCooldown.reset();
-			timer.cancel();
-			isExecuted = false;
-
-			recyclable.add(bullet);
-		}
-	}
-
-	private void barrierCollision(Set<Bullet> recyclable, Bullet bullet) {
-		Iterator<Barrier> barrierIterator = this.barriers.iterator();
-		while (barrierIterator.hasNext()) {
-			Barrier barrier = barrierIterator.next();
-			if (checkCollision(bullet, barrier)) {
-				recyclable.add(bullet);
-				barrier.reduceHealth(balance);
-				if (barrier.isDestroyed()) {
-					barrierIterator.remove();
-				}
-			}
-		}
+				&& checkCollision(bullet, this.enemyShipSpecial))
+			this.collisionEvents.add(EVENT_SPECIAL_HIT, bullet,
+					this.enemyShipSpecial);
+	}
+
+	/**
+	 * Fills the collision grid with the blocks, barriers and item boxes of
+	 * this tick.
+	 */
+	private void buildCollisionGrid() {
+		this.collisionGrid.clear();
+		for (Block block : this.blocks)
+			this.collisionGrid.insert(block, GRID_BLOCK);
+		if (this.barriers != null)
+			for (Barrier barrier : this.barriers)
+				this.collisionGrid.insert(barrier, GRID_BARRIER);
+		for (ItemBox itemBox : this.itemBoxes)
+			this.collisionGrid.insert(itemBox, GRID_ITEM_BOX);
+		this.collisionGrid.build();
 	}
 
-	private void itemBoxCollision(Set<Bullet> recyclable, Bullet bullet) {
-		Iterator<ItemBox> itemBoxIterator = this.itemBoxes.iterator();
-		while (itemBoxIterator.hasNext()) {
-			ItemBox itemBox = itemBoxIterator.next();
-			if (checkCollision(bullet, itemBox) && !itemBox.isDroppedRightNow()) {
-				this.hitBullets++;
-				itemBoxIterator.remove();
-				recyclable.add(bullet);
-				Entry<Integer, Integer> itemResult = this.itemManager.useItem();
+	private void barrierCollision(final int bullet, final int candidates) {
+		for (int n = 0; n < candidates; n++) {
+			int entry = this.collisionGrid.getResult(n);
+			if (this.collisionGrid.getKind(entry) != GRID_BARRIER)
+				continue;
+			Entity barrier = this.collisionGrid.getEntity(entry);
+			if (checkCollision(bullet, barrier))
+				this.collisionEvents.add(EVENT_BARRIER_HIT, bullet, barrier);
+		}
+	}
 
-				if (itemResult != null) {
-					this.score += itemResult.getKey();
-					this.shipsDestroyed += itemResult.getValue();
-				}
-			}
+	private void itemBoxCollision(final int bullet, final int candidates) {
+		for (int n = 0; n < candidates; n++) {
+			int entry = this.collisionGrid.getResult(n);
+			if (this.collisionGrid.getKind(entry) != GRID_ITEM_BOX)
+				continue;
+			ItemBox itemBox = (ItemBox) this.collisionGrid.getEntity(entry);
+			if (checkCollision(bullet, itemBox) && !itemBox.isDroppedRightNow())
+				this.collisionEvents.add(EVENT_ITEM_BOX_HIT, bullet, itemBox);
 		}
 	}
-	private void bulletBlockCollision(Set<Bullet> recyclable, Bullet bullet) {
-		for (Block block : this.blocks) {
-			if (checkCollision(bullet, block)) {
-				recyclable.add(bullet);
-				soundManager.playSound(Sound.BULLET_BLOCKING, balance);
+	private void bulletBlockCollision(final int bullet, final int candidates) {
+		for (int n = 0; n < candidates; n++) {
+			int entry = this.collisionGrid.getResult(n);
+			if (this.collisionGrid.getKind(entry) != GRID_BLOCK)
+				continue;
+			if (checkCollision(bullet, this.collisionGrid.getEntity(entry))) {
+				this.collisionEvents.add(EVENT_BLOCK_HIT, bullet, null);
 				break;
 			}
 		}
 	}
-	private void enemyShipBlockCollision(Set<Block> removableBlocks) {
-		//check the collision between the obstacle and the enemyship
-		for (EnemyShip enemyShip : this.enemyShipFormation) {
-			if (enemyShip != null && !enemyShip.isDestroyed()) {
-				for (Block block : blocks) {
-					if (checkCollision(enemyShip, block)) {
-						removableBlocks.add(block);
+
+	/**
+	 * Answers the collisions of this tick in the order they were found.
+	 * Events whose target was already destroyed or taken by an earlier one
+	 * are dropped, their bullet flies on. The score is added and each
+	 * sound is played once for the whole batch.
+	 */
+	private void respondToCollisions() {
+		int scoreGained = 0;
+		boolean enemyHit = false;
+		boolean blocked = false;
+
+		while (!this.collisionEvents.isEmpty()) {
+			Entity target = this.collisionEvents.take();
+			int bullet = this.collisionEvents.getBullet();
+
+			switch (this.collisionEvents.getKind()) {
+			case EVENT_SHIP_HIT:
+				if (!this.levelFinished && !itemManager.isGhostActive()) {
+					this.bullets.mark(bullet);
+					if (!this.ship.isDestroyed()) {
+						this.ship.destroy(balance);
+						lvdamage();
+						this.logger.info("Hit on player ship, " + this.lives + " lives remaining.");
 					}
 				}
+				break;
+			case EVENT_BARRIER_HIT:
+				Barrier barrier = (Barrier) target;
+				if (this.barriers.contains(barrier)) {
+					this.bullets.mark(bullet);
+					barrier.reduceHealth(balance);
+					if (barrier.isDestroyed())
+						this.barriers.remove(barrier);
+				}
+				break;
+			case EVENT_ENEMY_HIT:
+				EnemyShip enemyShip = (EnemyShip) target;
+				if (!enemyShip.isDestroyed()) {
+					scoreGained += enemyShipHit(enemyShip);
+					enemyHit = true;
+					this.bullets.mark(bullet);
+				}
+				break;
+			case EVENT_SPECIAL_HIT:
+				if (!this.enemyShipSpecial.isDestroyed()) {
+					scoreGained += Score.comboScore(this.enemyShipSpecial.getPointValue(), this.combo);
+					this.shipsDestroyed++;
+					this.combo++;
+					this.hitBullets++;
+					if (this.combo > this.maxCombo) this.maxCombo = this.combo;
+					this.enemyShipSpecial.destroy(balance);
+					this.enemyShipSpecial.expireIn(BONUS_SHIP_EXPLOSION);
+					this.timers.cancel(this.comboTimer);
+					isExecuted = false;
+
+					this.bullets.mark(bullet);
+				}
+				break;
+			case EVENT_SHOT_CHECK:
+				if (this.itemManager.getShotNum() == 1 && this.bullets.getPositionY(bullet) < getTopEnemyY()) {
+					this.combo = 0;
+					isExecuted = true;
+				}
+				break;
+			case EVENT_ITEM_BOX_HIT:
+				if (this.itemBoxes.remove(target)) {
+					this.hitBullets++;
+					this.bullets.mark(bullet);
+					Entry<Integer, Integer> itemResult = this.itemManager.useItem();
+
+					if (itemResult != null) {
+						scoreGained += itemResult.getKey();
+						this.shipsDestroyed += itemResult.getValue();
+					}
+				}
+				break;
+			case EVENT_BLOCK_HIT:
+				this.bullets.mark(bullet);
+				blocked = true;
+				break;
+			default:
+				break;
 			}
 		}
+
+		this.score += scoreGained;
+		if (enemyHit)
+			soundManager.playSound(Sound.ALIEN_HIT, balance);
+		if (blocked)
+			soundManager.playSound(Sound.BULLET_BLOCKING, balance);
 	}
-	private int getTopEnemyY() {
-		int topEnemyY = Integer.MAX_VALUE;
-		for (EnemyShip enemyShip : this.enemyShipFormation) {
-			if (enemyShip != null && !enemyShip.isDestroyed() && enemyShip.getPositionY() < topEnemyY) {
-				topEnemyY = enemyShip.getPositionY();
+
+	/**
+	 * Answers a player bullet hitting a formation ship.
+	 *
+	 * @param enemyShip
+	 *            Ship hit.
+	 * @return Score gained.
+	 */
+	private int enemyShipHit(final EnemyShip enemyShip) {
+		// Decide whether to destroy according to physical strength
+		this.enemyShipFormation.HealthManageDestroy(enemyShip, balance);
+		// If the enemy doesn't die, the combo increases;
+		// if the enemy dies, both the combo and score increase.
+		int points = Score.comboScore(this.enemyShipFormation.getPoint(), this.combo);
+		this.shipsDestroyed += this.enemyShipFormation.getDistroyedship();
+		this.combo++;
+		this.hitBullets++;
+		if (this.combo > this.maxCombo) this.maxCombo = this.combo;
+		this.timers.cancel(this.comboTimer);
+		isExecuted = false;
+
+		if (enemyShip.getHealth() < 0 && itemManager.dropItem()) {
+			this.itemBoxes.add(new ItemBox(enemyShip.getPositionX() + 6, enemyShip.getPositionY() + 1, balance));
+			logger.info("Item box dropped");
+		}
+		return points;
+	}
+	private void enemyShipBlockCollision() {
+		//check the collision between the obstacle and the enemyship
+		for (Iterator<Block> iterator = this.blocks.iterator(); iterator.hasNext();) {
+			Block block = iterator.next();
+			for (int c = this.enemyShipFormation.firstOverlapping(
+					block.getPositionX(), block.getPositionY(),
+					block.getWidth(), block.getHeight()); c >= 0;
+					c = this.enemyShipFormation.nextOverlapping(c,
+							block.getPositionX(), block.getPositionY(),
+							block.getWidth(), block.getHeight())) {
+				if (checkCollision(this.enemyShipFormation.shipAt(c), block)) {
+					iterator.remove();
+					break;
+				}
 			}
 		}
+	}
+	private int getTopEnemyY() {
+		int topEnemyY = this.enemyShipFormation.getTopLiveY();
 		if (this.enemyShipSpecial != null && !this.enemyShipSpecial.isDestroyed() && this.enemyShipSpecial.getPositionY() < topEnemyY) {
 			topEnemyY = this.enemyShipSpecial.getPositionY();
 		}
@@ -934,6 +1152,42 @@ public class GameScreen extends Screen implements Callable<GameState> {
 	}
 
 
+	/**
+	 * Checks if a bullet is colliding with an entity. Once the bounding
+	 * boxes overlap, the sprite masks tell if a solid pixel of the bullet
+	 * lies on a solid pixel of the entity.
+	 *
+	 * @param bullet
+	 *            Index of the bullet.
+	 * @param b
+	 *            Entity, the ship.
+	 * @return Result of the collision test.
+	 */
+	private boolean checkCollision(final int bullet, final Entity b) {
+		// Calculate center point of the bullet and the entity in both axis.
+		int centerAX = this.bullets.getPositionX(bullet) + BulletStore.WIDTH / 2;
+		int centerAY = this.bullets.getPositionY(bullet) + BulletStore.HEIGHT / 2;
+		int centerBX = b.getPositionX() + b.getWidth() / 2;
+		int centerBY = b.getPositionY() + b.getHeight() / 2;
+		// Calculate maximum distance without collision.
+		int maxDistanceX = BulletStore.WIDTH / 2 + b.getWidth() / 2;
+		int maxDistanceY = BulletStore.HEIGHT / 2 + b.getHeight() / 2;
+		// Calculates distance.
+		int distanceX = Math.abs(centerAX - centerBX);
+		int distanceY = Math.abs(centerAY - centerBY);
+		if (distanceX >= maxDistanceX || distanceY >= maxDistanceY)
+			return false;
+
+		SpriteMask bulletMask = this.drawManager.getSpriteMask(
+				this.bullets.getSpriteType(bullet));
+		SpriteMask mask = this.drawManager.getSpriteMask(b.getSpriteType());
+		if (bulletMask == null || mask == null)
+			return true;
+		return bulletMask.overlaps(this.bullets.getPositionX(bullet),
+				this.bullets.getPositionY(bullet), mask, b.getPositionX(),
+				b.getPositionY());
+	}
+
 	/**
 	 * Checks if two entities are colliding.
 	 * 
@@ -959,6 +1213,15 @@ public class GameScreen extends Screen implements Callable<GameState> {
 		return distanceX < maxDistanceX && distanceY < maxDistanceY;
 	}
 
+	/**
+	 * Getter for the bullets of the level, for monitoring.
+	 *
+	 * @return Bullet store of the level.
+	 */
+	public final BulletStore getBullets() {
+		return this.bullets;
+	}
+
 	/**
 	 * Returns a GameState object representing the status of the game.
 	 * 
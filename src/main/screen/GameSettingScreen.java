@@ -60,7 +60,6 @@ public class GameSettingScreen extends Screen {
 
 	protected final void update() {
 		super.update();
-		draw();
 
 		if (this.inputDelay.checkFinished() && this.selectionCooldown.checkFinished()) {
 			keyActions.keySet().stream()
@@ -135,7 +134,7 @@ public class GameSettingScreen extends Screen {
 		soundManager.playSound(sound);
 	}
 
-	private void draw() {
+	protected final void draw() {
 		drawManager.initDrawing(this);
 		drawManager.drawGameSetting(this);
 		drawManager.drawGameSettingRow(this, this.selectedRow);
@@ -7,6 +7,8 @@ import java.util.logging.Logger;
 import engine.Cooldown;
 import engine.Core;
 import engine.DrawManager;
+import engine.FramePacer;
+import engine.GameClock;
 import engine.InputManager;
 
 /**
@@ -19,6 +21,8 @@ public class Screen {
 	
 	/** Milliseconds until the screen accepts user input. */
 	private static final int INPUT_DELAY = 1000;
+	/** Maximum simulation ticks run back to back to catch up after a stall. */
+	private static final int MAX_CATCH_UP_TICKS = 5;
 
 	/** Draw Manager instance. */
 	protected DrawManager drawManager;
@@ -31,8 +35,12 @@ public class Screen {
 	protected int width;
 	/** Screen height. */
 	protected int height;
-	/** Frames per second shown on the screen. */
+	/** Simulation ticks per second, also the highest rendered frame rate. */
 	protected int fps;
+	/** Number of simulation ticks run so far. */
+	protected long ticks;
+	/** Paces the loop to the next tick deadline. */
+	private final FramePacer framePacer;
 	/** Screen insets. */
 	protected Insets insets;
 	/** Time until the screen accepts user input. */
@@ -64,6 +72,7 @@ public class Screen {
 		this.inputDelay = Core.getCooldown(INPUT_DELAY);
 		this.inputDelay.reset();
 		this.returnCode = 0;
+		this.framePacer = new FramePacer();
 	}
 
 	/**
@@ -74,37 +83,89 @@ public class Screen {
 	}
 
 	/**
-	 * Activates the screen.
+	 * Activates the screen. Runs a fixed timestep loop: update() is called
+	 * once per elapsed tick of 1/fps seconds, catching up on missed ticks up
+	 * to a limit, and draw() once per loop pass.
 	 * 
 	 * @return Next screen code.
 	 */
 	public int run() {
 		this.isRunning = true;
 
+		final long tickNanos = TimeUnit.SECONDS.toNanos(1) / this.fps;
+		final long maxBacklog = MAX_CATCH_UP_TICKS * tickNanos;
+		long previousTime = System.nanoTime();
+		long backlog = tickNanos;
+
 		while (this.isRunning) {
-			long time = System.currentTimeMillis();
+			long currentTime = System.nanoTime();
+			backlog = Math.min(backlog + currentTime - previousTime, maxBacklog);
+			previousTime = currentTime;
+
+			while (backlog >= tickNanos && this.isRunning) {
+				update();
+				this.ticks++;
+				backlog -= tickNanos;
+			}
 
-			update();
+			draw();
 
-			time = (1000 / this.fps) - (System.currentTimeMillis() - time);
-			if (time > 0) {
-				try {
-					TimeUnit.MILLISECONDS.sleep(time);
-				} catch (InterruptedException e) {
-					return 0;
-				}
+			try {
+				this.framePacer.waitUntil(currentTime + tickNanos - backlog);
+			} catch (InterruptedException e) {
+				return 0;
 			}
 		}
 
 		return 0;
 	}
 
+	/**
+	 * Runs the screen without drawing or waiting, as fast as update() allows.
+	 * Game time is advanced by one tick per update, so the result matches a
+	 * paced run as long as {@link GameClock} is simulated.
+	 * 
+	 * @param maxTicks
+	 *            Upper bound of ticks to run.
+	 * @return Number of ticks actually run.
+	 */
+	public long simulate(final long maxTicks) {
+		this.isRunning = true;
+
+		final long tickNanos = TimeUnit.SECONDS.toNanos(1) / this.fps;
+		long ran = 0;
+
+		while (this.isRunning && ran < maxTicks) {
+			GameClock.advance(tickNanos);
+			update();
+			this.ticks++;
+			ran++;
+		}
+
+		return ran;
+	}
+
+	/**
+	 * Checks if the screen is still running.
+	 * 
+	 * @return True until the screen decides to close.
+	 */
+	public final boolean isRunning() {
+		return this.isRunning;
+	}
+
 	/**
 	 * Updates the elements on screen and checks for events.
 	 */
 	protected void update() {
 	}
 
+	/**
+	 * Draws the elements associated with the screen.
+	 */
+	protected void draw() {
+	}
+
 	/**
 	 * Getter for screen width.
 	 * 
@@ -110,8 +110,6 @@ public class SettingScreen extends Screen {
                 soundManager.playSound(Sound.MENU_CLICK);
             }
         }
-
-        draw();
     }
 
     /**
@@ -127,7 +125,7 @@ public class SettingScreen extends Screen {
     /**
      * Draws the elements associated with the screen.
      */
-    private void draw() {
+    protected final void draw() {
         drawManager.initDrawing(this);
 
         drawManager.drawSettingsScreen(this);
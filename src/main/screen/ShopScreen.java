@@ -81,7 +81,6 @@ public class ShopScreen extends Screen {
     protected final void update() {
         super.update();
 
-        draw();
         if (this.selectionCooldown.checkFinished()
                 && this.inputDelay.checkFinished()
                 && this.money_alertCooldown.checkFinished()
@@ -159,7 +158,7 @@ public class ShopScreen extends Screen {
             this.selected_item--;
     }
 
-    private void draw() {
+    protected final void draw() {
         drawManager.initDrawing(this);
 
 
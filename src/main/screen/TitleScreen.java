@@ -70,7 +70,6 @@ public class TitleScreen extends Screen {
 	protected final void update() {
 		super.update();
 
-		draw();
 		if (this.selectionCooldown.checkFinished()
 				&& this.inputDelay.checkFinished()) {
 			if (inputManager.isKeyDown(KeyEvent.VK_UP)
@@ -129,7 +128,7 @@ public class TitleScreen extends Screen {
 	/**
 	 * Draws the elements associated with the screen.
 	 */
-	private void draw() {
+	protected final void draw() {
 		drawManager.initDrawing(this);
 
 		drawManager.drawTitle(this);
@@ -86,7 +86,7 @@ public class TwoPlayerScreen extends Screen {
     /**
      * Draws the elements associated with the screen.
      */
-    private void draw() {
+    protected final void draw() {
         drawManager.initDrawing(this);
         drawManager.mergeDrawing(this);
         drawManager.drawVerticalLine(this);
@@ -113,8 +113,6 @@ public class TwoPlayerScreen extends Screen {
                 isRunning = false;
                 executor.shutdown();
             }
-
-            draw();
         } catch (Exception e) {
             e.printStackTrace();
         }